@@ -0,0 +1,107 @@
+package io.scalecube.cluster.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.scalecube.cluster.Member;
+import io.scalecube.cluster.codec.binary.BinaryMessageCodec;
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.net.Address;
+import io.scalecube.transport.netty.FrameCompressor;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures cost of frame compression on a message shaped like membership sync: list of members
+ * with random ids and addresses. Sizes of encoded and compressed frames are reported as {@code
+ * frameBytes} and {@code compressedBytes} secondary results of {@code compress}.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CompressionBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int members;
+
+  private final ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+  private final FrameCompressor compressor = new FrameCompressor(1, Integer.MAX_VALUE);
+
+  private byte[] frame;
+  private byte[] compressedFrame;
+
+  /** Setup. */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    Random random = new Random(42);
+    ArrayList<Member> membership = new ArrayList<>(members);
+    for (int i = 0; i < members; i++) {
+      Address address = Address.create("10.0." + (i / 250) + "." + (i % 250 + 1), 4801);
+      membership.add(
+          new Member(Long.toHexString(random.nextLong()), "member-" + i, address, "default"));
+    }
+    Message message =
+        Message.withData(membership)
+            .qualifier("sc/membership/sync")
+            .correlationId("1a2b3c4d-42")
+            .sender(Address.create("10.0.0.1", 4801))
+            .build();
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    new BinaryMessageCodec().serialize(message, output);
+    frame = output.toByteArray();
+
+    ByteBuf compressed = compressor.encode(allocator, Unpooled.wrappedBuffer(frame));
+    compressedFrame = ByteBufUtil.getBytes(compressed);
+    compressed.release();
+  }
+
+  /** Outbound: encoded frame is compressed. */
+  @Benchmark
+  public int compress(FrameSize frameSize) {
+    ByteBuf compressed = compressor.encode(allocator, Unpooled.wrappedBuffer(frame));
+    int length = compressed.readableBytes();
+    compressed.release();
+    frameSize.frameBytes = frame.length;
+    frameSize.compressedBytes = length;
+    return length;
+  }
+
+  /** Inbound: received frame is decompressed. */
+  @Benchmark
+  public int decompress() {
+    ByteBuf decompressed = compressor.decode(allocator, Unpooled.wrappedBuffer(compressedFrame));
+    int length = decompressed.readableBytes();
+    decompressed.release();
+    return length;
+  }
+
+  /** Reports sizes of frame before and after compression next to timings. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class FrameSize {
+
+    public long frameBytes;
+    public long compressedBytes;
+  }
+}
@@ -0,0 +1,91 @@
+package io.scalecube.cluster.benchmarks;
+
+import io.scalecube.cluster.transport.api.JdkMessageCodec;
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.cluster.transport.api.Transport;
+import io.scalecube.cluster.transport.api.TransportConfig;
+import io.scalecube.transport.netty.TransportImpl;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures throughput of messages received by one transport from several peers depending on number
+ * of transport event loops and on whether native transport is used.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class EventLoopThroughputBenchmark {
+
+  private static final int CLIENT_COUNT = 8;
+  private static final int STORM_SIZE = 4000;
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  @Param({"1", "2", "4", "8"})
+  private int eventLoopCount;
+
+  @Param({"false", "true"})
+  private boolean preferNative;
+
+  private Transport server;
+  private final List<Transport> clients = new ArrayList<>();
+  private Message message;
+  private final AtomicReference<CountDownLatch> latch = new AtomicReference<>();
+
+  /** Setup. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    TransportConfig config =
+        TransportConfig.defaultConfig()
+            .messageCodec(new JdkMessageCodec())
+            .preferNative(preferNative);
+    server = TransportImpl.bindAwait(config.eventLoopCount(eventLoopCount));
+    for (int i = 0; i < CLIENT_COUNT; i++) {
+      clients.add(TransportImpl.bindAwait(config));
+    }
+    server.listen().subscribe(m -> latch.get().countDown());
+    message = Message.withData("hello").qualifier("bench/throughput").build();
+  }
+
+  /** Tear down. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    clients.forEach(client -> client.stop().block(TIMEOUT));
+    server.stop().block(TIMEOUT);
+  }
+
+  /** Sends storm of messages from all peers and awaits all of them are received. */
+  @Benchmark
+  @OperationsPerInvocation(STORM_SIZE)
+  public void receiveStorm() throws InterruptedException {
+    CountDownLatch countDownLatch = new CountDownLatch(STORM_SIZE);
+    latch.set(countDownLatch);
+    for (int i = 0; i < STORM_SIZE; i++) {
+      clients.get(i % CLIENT_COUNT).send(server.address(), message).subscribe();
+    }
+    if (!countDownLatch.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+      throw new IllegalStateException("Storm is not received in time");
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package io.scalecube.cluster.benchmarks;
+
+import io.scalecube.cluster.Member;
+import io.scalecube.cluster.codec.binary.BinaryMessageCodec;
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.net.Address;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures per message work done by transport and cluster on hot path: adding sender to outbound
+ * message, decoding inbound message followed by repeated access to its well-known headers, and
+ * whole ping/ping-ack and gossip hops (build, add sender, encode, decode, read). Run with {@code
+ * -prof gc} to see allocation per operation.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MessageBenchmark {
+
+  private final BinaryMessageCodec messageCodec = new BinaryMessageCodec();
+  private final ByteBuffer buffer = ByteBuffer.allocate(1024);
+  private final ByteBuffer hopBuffer = ByteBuffer.allocate(1024);
+
+  private Address address;
+  private Member member;
+  private Message message;
+  private Message userMessage;
+
+  /** Setup. */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    address = Address.create("10.0.0.1", 4801);
+    member = new Member("e3b0c44298fc1c14", "member-1", address, "default");
+    message =
+        Message.withData(member)
+            .qualifier("sc/fdetector/ping")
+            .correlationId("1a2b3c4d-42")
+            .build();
+    userMessage =
+        Message.withData("hello")
+            .qualifier("app/greeting")
+            .header("tenant", "acme")
+            .header("trace-id", "5f2c9e")
+            .build();
+
+    messageCodec.serialize(Message.with(message).sender(address).build(), buffer);
+    buffer.flip();
+  }
+
+  /** Outbound: sender is added to every message sent by cluster. */
+  @Benchmark
+  public Message withSender() {
+    return Message.with(message).sender(address).build();
+  }
+
+  /** Inbound: message is decoded and routed, then handlers look at its sender several times. */
+  @Benchmark
+  public Object receive() throws Exception {
+    Message received = messageCodec.deserializeLazily(buffer.duplicate());
+    Object result = null;
+    if (received.qualifier() != null && received.correlationId() != null) {
+      for (int i = 0; i < 3; i++) {
+        result = received.sender();
+      }
+    }
+    return result;
+  }
+
+  /** Failure detector: ping is sent to a member, which answers with ping-ack. */
+  @Benchmark
+  public Object pingAck() throws Exception {
+    Message ping =
+        Message.withData(member)
+            .qualifier("sc/fdetector/ping")
+            .correlationId("1a2b3c4d-42")
+            .build();
+    Message receivedPing = hop(ping);
+    Message ack =
+        Message.withData(receivedPing.data())
+            .qualifier("sc/fdetector/pingAck")
+            .correlationId(receivedPing.correlationId())
+            .build();
+    Message receivedAck = hop(ack);
+    return receivedAck.<Member>data();
+  }
+
+  /** Gossip protocol: user message with headers is gossiped to a member. */
+  @Benchmark
+  public Object gossip() throws Exception {
+    Message gossip =
+        Message.withData(Message.with(userMessage).build()).qualifier("sc/gossip/req").build();
+    Message received = hop(gossip);
+    Message receivedUserMessage = received.data();
+    return receivedUserMessage.header("trace-id");
+  }
+
+  private Message hop(Message message) throws Exception {
+    hopBuffer.clear();
+    messageCodec.serialize(Message.with(message).sender(address).build(), hopBuffer);
+    hopBuffer.flip();
+    Message received = messageCodec.deserializeLazily(hopBuffer);
+    if (received.qualifier() == null || received.sender() == null) {
+      throw new IllegalStateException();
+    }
+    return received;
+  }
+}
@@ -0,0 +1,103 @@
+package io.scalecube.cluster.benchmarks;
+
+import io.scalecube.cluster.Member;
+import io.scalecube.cluster.codec.binary.BinaryMessageCodec;
+import io.scalecube.cluster.codec.jackson.JacksonMessageCodec;
+import io.scalecube.cluster.codec.jackson.smile.JacksonSmileMessageCodec;
+import io.scalecube.cluster.transport.api.JdkMessageCodec;
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.cluster.transport.api.MessageCodec;
+import io.scalecube.net.Address;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares message codecs on a message shaped like failure detector ping: system qualifier,
+ * correlation id, sender and {@link Member} as data. Size of encoded message is reported as {@code
+ * messageBytes} secondary result of {@code serialize}.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MessageCodecBenchmark {
+
+  @Param({"jdk", "jackson", "jackson-smile", "binary"})
+  private String codec;
+
+  private MessageCodec messageCodec;
+  private Message message;
+  private byte[] bytes;
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream(1024);
+
+  /** Setup. */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    messageCodec = messageCodec(codec);
+
+    Address address = Address.create("localhost", 4801);
+    message =
+        Message.withData(new Member("e3b0c44298fc1c14", "member-1", address, "default"))
+            .qualifier("sc/fdetector/ping")
+            .correlationId("1a2b3c4d-42")
+            .sender(address)
+            .build();
+
+    messageCodec.serialize(message, output);
+    bytes = output.toByteArray();
+  }
+
+  /** Serialize. */
+  @Benchmark
+  public int serialize(MessageSize messageSize) throws Exception {
+    output.reset();
+    messageCodec.serialize(message, output);
+    messageSize.messageBytes = output.size();
+    return output.size();
+  }
+
+  /** Deserialize. */
+  @Benchmark
+  public Message deserialize() throws Exception {
+    return messageCodec.deserialize(new ByteArrayInputStream(bytes));
+  }
+
+  /** Reports size of encoded message next to timings. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class MessageSize {
+
+    public long messageBytes;
+  }
+
+  private static MessageCodec messageCodec(String codec) {
+    switch (codec) {
+      case "jdk":
+        return new JdkMessageCodec();
+      case "jackson":
+        return new JacksonMessageCodec();
+      case "jackson-smile":
+        return new JacksonSmileMessageCodec();
+      case "binary":
+        return new BinaryMessageCodec();
+      default:
+        throw new IllegalArgumentException("Unknown codec: " + codec);
+    }
+  }
+}
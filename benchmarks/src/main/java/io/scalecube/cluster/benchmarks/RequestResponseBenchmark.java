@@ -0,0 +1,92 @@
+package io.scalecube.cluster.benchmarks;
+
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.cluster.transport.api.Transport;
+import io.scalecube.transport.netty.TransportImpl;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+
+/**
+ * Measures throughput of {@link Transport#requestResponse} while given number of other requests
+ * are in-flight (awaiting responses which never come).
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RequestResponseBenchmark {
+
+  private static final String ECHO = "bench/echo";
+  private static final String BLACKHOLE = "bench/blackhole";
+  private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
+  @Param({"1", "100", "10000"})
+  private int inflight;
+
+  private Transport server;
+  private Transport client;
+  private final AtomicLong cidCounter = new AtomicLong();
+  private final Disposable.Composite inflightRequests = Disposables.composite();
+
+  /** Setup. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    server = TransportImpl.bindAwait();
+    client = TransportImpl.bindAwait();
+
+    server
+        .listen()
+        .filter(message -> ECHO.equals(message.qualifier()))
+        .subscribe(
+            message ->
+                server
+                    .send(
+                        message.sender(),
+                        Message.with(message).qualifier(ECHO).sender(server.address()).build())
+                    .subscribe());
+
+    for (int i = 0; i < inflight; i++) {
+      Message request = request(BLACKHOLE);
+      inflightRequests.add(client.requestResponse(server.address(), request).subscribe());
+    }
+  }
+
+  /** Tear down. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    inflightRequests.dispose();
+    client.stop().block(TIMEOUT);
+    server.stop().block(TIMEOUT);
+  }
+
+  @Benchmark
+  public Message requestResponse() {
+    return client.requestResponse(server.address(), request(ECHO)).block(TIMEOUT);
+  }
+
+  private Message request(String qualifier) {
+    return Message.withData("hello")
+        .qualifier(qualifier)
+        .correlationId("cid-" + cidCounter.incrementAndGet())
+        .sender(client.address())
+        .build();
+  }
+}
@@ -0,0 +1,81 @@
+package io.scalecube.cluster.benchmarks;
+
+import io.scalecube.cluster.transport.api.JdkMessageCodec;
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.cluster.transport.api.Transport;
+import io.scalecube.cluster.transport.api.TransportConfig;
+import io.scalecube.transport.netty.TransportImpl;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures throughput of storm of small fire-and-forget messages sent to one peer, with and
+ * without write coalescing.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SendStormBenchmark {
+
+  private static final int STORM_SIZE = 1000;
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  @Param({"false", "true"})
+  private boolean writeCoalescing;
+
+  private Transport server;
+  private Transport client;
+  private Message message;
+  private final AtomicReference<CountDownLatch> latch = new AtomicReference<>();
+
+  /** Setup. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    TransportConfig config =
+        TransportConfig.defaultConfig().messageCodec(new JdkMessageCodec());
+    server = TransportImpl.bindAwait(config);
+    client = TransportImpl.bindAwait(config.writeCoalescing(writeCoalescing));
+    server.listen().subscribe(m -> latch.get().countDown());
+    message = Message.withData("ping").qualifier("bench/storm").build();
+  }
+
+  /** Tear down. */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    client.stop().block(TIMEOUT);
+    server.stop().block(TIMEOUT);
+  }
+
+  /** Sends storm of messages and awaits all of them are received. */
+  @Benchmark
+  @OperationsPerInvocation(STORM_SIZE)
+  public void sendStorm() throws InterruptedException {
+    CountDownLatch countDownLatch = new CountDownLatch(STORM_SIZE);
+    latch.set(countDownLatch);
+    for (int i = 0; i < STORM_SIZE; i++) {
+      client.send(server.address(), message).subscribe();
+    }
+    if (!countDownLatch.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+      throw new IllegalStateException("Storm is not received in time");
+    }
+  }
+}
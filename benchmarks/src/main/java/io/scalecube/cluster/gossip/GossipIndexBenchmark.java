@@ -0,0 +1,133 @@
+package io.scalecube.cluster.gossip;
+
+import io.scalecube.cluster.ClusterMath;
+import io.scalecube.cluster.transport.api.Message;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one gossip period of {@link GossipProtocolImpl} on the gossip store in steady state
+ * with given number of live gossips: new gossips arrive, gossips are selected for each of fanout
+ * members, disseminated gossips are found and expired ones are swept. Compares {@link
+ * GossipIndex} with full scans over map of gossips.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class GossipIndexBenchmark {
+
+  private static final int CLUSTER_SIZE = 1000;
+  private static final int REPEAT_MULT = 3;
+  private static final int FANOUT = 3;
+
+  private static final int PERIODS_TO_SPREAD =
+      ClusterMath.gossipPeriodsToSpread(REPEAT_MULT, CLUSTER_SIZE);
+  private static final int PERIODS_TO_SWEEP =
+      ClusterMath.gossipPeriodsToSweep(REPEAT_MULT, CLUSTER_SIZE);
+
+  @Param({"100", "1000", "10000"})
+  private int gossips;
+
+  @Param({"scan", "index"})
+  private String store;
+
+  private final Random random = new Random(42);
+  private final Message message = Message.fromData("gossip");
+  private final Map<String, GossipState> gossipMap = new HashMap<>();
+  private final GossipIndex gossipIndex = new GossipIndex();
+
+  private int gossipsPerPeriod;
+  private long period;
+  private long sequenceId;
+
+  /** Setup. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    gossipsPerPeriod = Math.max(gossips / (PERIODS_TO_SWEEP + 1), 1);
+    for (int i = 0; i <= PERIODS_TO_SWEEP; i++) {
+      period();
+    }
+  }
+
+  /** One gossip period. */
+  @Benchmark
+  public int period() {
+    long period = this.period++;
+    for (int i = 0; i < gossipsPerPeriod; i++) {
+      GossipState gossipState =
+          new GossipState(new Gossip("member-0", message, sequenceId++), period);
+      gossipState.addToInfected(random.nextInt(CLUSTER_SIZE));
+      if ("index".equals(store)) {
+        gossipIndex.add(gossipState);
+      } else {
+        gossipMap.put(gossipState.gossip().gossipId(), gossipState);
+      }
+    }
+    return "index".equals(store) ? periodOnIndex(period) : periodOnMap(period);
+  }
+
+  private int periodOnIndex(long period) {
+    int result = 0;
+    List<GossipState> gossipsToSpread = gossipIndex.infectedSince(period - PERIODS_TO_SPREAD);
+    for (int i = 0; i < FANOUT; i++) {
+      int memberSlot = random.nextInt(CLUSTER_SIZE);
+      List<GossipState> gossipStates = new ArrayList<>(gossipsToSpread.size());
+      for (GossipState gossipState : gossipsToSpread) {
+        if (!gossipState.isInfected(memberSlot)) {
+          gossipStates.add(gossipState);
+        }
+      }
+      result += gossipStates.size();
+    }
+    result += gossipIndex.disseminatedBefore(period - PERIODS_TO_SPREAD).size();
+    result += gossipIndex.removeBefore(period - PERIODS_TO_SWEEP).size();
+    return result;
+  }
+
+  // Full scans as done by gossip protocol before gossip index was introduced
+  private int periodOnMap(long period) {
+    int result = 0;
+    for (int i = 0; i < FANOUT; i++) {
+      int memberSlot = random.nextInt(CLUSTER_SIZE);
+      List<GossipState> gossipStates =
+          gossipMap.values().stream()
+              .filter(gossipState -> gossipState.infectionPeriod() + PERIODS_TO_SPREAD >= period)
+              .filter(gossipState -> !gossipState.isInfected(memberSlot))
+              .collect(Collectors.toList());
+      result += gossipStates.size();
+    }
+    Set<String> gossipsToRemove =
+        gossipMap.values().stream()
+            .filter(gossipState -> period > gossipState.infectionPeriod() + PERIODS_TO_SWEEP)
+            .map(gossipState -> gossipState.gossip().gossipId())
+            .collect(Collectors.toSet());
+    gossipsToRemove.forEach(gossipMap::remove);
+    Set<String> gossipsThatSpread =
+        gossipMap.values().stream()
+            .filter(gossipState -> period > gossipState.infectionPeriod() + PERIODS_TO_SPREAD)
+            .map(gossipState -> gossipState.gossip().gossipId())
+            .collect(Collectors.toSet());
+    return result + gossipsToRemove.size() + gossipsThatSpread.size();
+  }
+}
@@ -0,0 +1,141 @@
+package io.scalecube.cluster.gossip;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures adding sequence ids of gossips received from one gossiper: in order, mildly reordered
+ * (shuffled within groups of 4) and lossy (1% never received). Compares {@link SequenceIdWindow}
+ * with collector of id intervals on {@link TreeMap} it replaced, which is cleared once it has too
+ * many intervals, as gossip protocol did. Run with {@code -prof gc} to see allocation.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SequenceIdWindowBenchmark {
+
+  private static final int STREAM_LENGTH = 1 << 16;
+
+  @Param({"in-order", "reordered", "lossy"})
+  private String stream;
+
+  @Param({"tree-map", "window"})
+  private String collector;
+
+  private long[] sequenceIds;
+  private int index;
+  private long base;
+
+  private SequenceIdWindow window;
+  private TreeMapSequenceIdCollector treeMapCollector;
+
+  /** Setup. */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    List<Long> sequence = new ArrayList<>(STREAM_LENGTH);
+    for (long i = 0; i < STREAM_LENGTH; i++) {
+      if (!"lossy".equals(stream) || random.nextInt(100) != 0) {
+        sequence.add(i);
+      }
+    }
+    if ("reordered".equals(stream)) {
+      for (int i = 0; i + 4 <= sequence.size(); i += 4) {
+        Collections.shuffle(sequence.subList(i, i + 4), random);
+      }
+    }
+    sequenceIds = sequence.stream().mapToLong(Long::longValue).toArray();
+
+    window = new SequenceIdWindow(GossipConfig.GOSSIP_SEGMENTATION_THRESHOLD);
+    treeMapCollector = new TreeMapSequenceIdCollector();
+  }
+
+  /** Gossip is received. */
+  @Benchmark
+  public boolean add() {
+    if (index == sequenceIds.length) {
+      index = 0;
+      base += STREAM_LENGTH;
+    }
+    long sequenceId = base + sequenceIds[index++];
+    if ("window".equals(collector)) {
+      return window.add(sequenceId);
+    } else {
+      if (treeMapCollector.size() > GossipConfig.GOSSIP_SEGMENTATION_THRESHOLD) {
+        treeMapCollector.clear();
+      }
+      return treeMapCollector.add(sequenceId);
+    }
+  }
+
+  // Collector of id intervals used by gossip protocol before SequenceIdWindow
+  private static final class TreeMapSequenceIdCollector {
+
+    private final TreeMap<Long, Long> processedInterval = new TreeMap<>();
+
+    private static boolean isInClosedRange(Entry<Long, Long> range, long element) {
+      return range != null && range.getKey() <= element && element <= range.getValue();
+    }
+
+    private static boolean isNextToClosedRange(Entry<Long, Long> range, long element) {
+      return range != null && (element + 1 == range.getKey() || element - 1 == range.getValue());
+    }
+
+    boolean add(long sequenceId) {
+      final Entry<Long, Long> floorEntry = processedInterval.floorEntry(sequenceId);
+
+      if (isInClosedRange(floorEntry, sequenceId)) {
+        return false;
+      }
+
+      final Entry<Long, Long> ceilingEntry = processedInterval.ceilingEntry(sequenceId);
+
+      final boolean nextToFloor = isNextToClosedRange(floorEntry, sequenceId);
+      final boolean nextToCeiling = isNextToClosedRange(ceilingEntry, sequenceId);
+
+      if (nextToFloor && nextToCeiling) {
+        processedInterval.remove(floorEntry.getKey());
+        processedInterval.remove(ceilingEntry.getKey());
+        processedInterval.put(floorEntry.getKey(), ceilingEntry.getValue());
+      } else if (nextToFloor) {
+        processedInterval.remove(floorEntry.getKey());
+        processedInterval.put(floorEntry.getKey(), sequenceId);
+      } else if (nextToCeiling) {
+        processedInterval.remove(ceilingEntry.getKey());
+        processedInterval.put(sequenceId, ceilingEntry.getValue());
+      } else {
+        processedInterval.put(sequenceId, sequenceId);
+      }
+
+      return true;
+    }
+
+    int size() {
+      return processedInterval.size();
+    }
+
+    void clear() {
+      processedInterval.clear();
+    }
+  }
+}
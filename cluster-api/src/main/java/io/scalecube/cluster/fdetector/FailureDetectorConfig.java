@@ -9,6 +9,7 @@ public final class FailureDetectorConfig implements Cloneable {
   public static final int DEFAULT_PING_INTERVAL = 1_000;
   public static final int DEFAULT_PING_TIMEOUT = 500;
   public static final int DEFAULT_PING_REQ_MEMBERS = 3;
+  public static final int DEFAULT_PIGGYBACK_MAX_BYTES = 0;
 
   // Default settings for WAN cluster (overrides default/LAN settings)
   public static final int DEFAULT_WAN_PING_TIMEOUT = 3_000;
@@ -23,6 +24,7 @@ public final class FailureDetectorConfig implements Cloneable {
   private int pingInterval = DEFAULT_PING_INTERVAL;
   private int pingTimeout = DEFAULT_PING_TIMEOUT;
   private int pingReqMembers = DEFAULT_PING_REQ_MEMBERS;
+  private int piggybackMaxBytes = DEFAULT_PIGGYBACK_MAX_BYTES;
 
   public FailureDetectorConfig() {}
 
@@ -111,6 +113,24 @@ public int pingReqMembers() {
     return pingReqMembers;
   }
 
+  /**
+   * Setter for {@code piggybackMaxBytes}. Approximate max size in bytes of gossips which ride along
+   * in ping and ping ack messages, cluster's own (membership) gossips first; such gossips are not
+   * sent to the same member in separate gossip requests. 0 disables piggybacking.
+   *
+   * @param piggybackMaxBytes max size of piggybacked gossips
+   * @return new {@code FailureDetectorConfig}
+   */
+  public FailureDetectorConfig piggybackMaxBytes(int piggybackMaxBytes) {
+    FailureDetectorConfig f = clone();
+    f.piggybackMaxBytes = piggybackMaxBytes;
+    return f;
+  }
+
+  public int piggybackMaxBytes() {
+    return piggybackMaxBytes;
+  }
+
   @Override
   public FailureDetectorConfig clone() {
     try {
@@ -126,6 +146,7 @@ public String toString() {
         .add("pingInterval=" + pingInterval)
         .add("pingTimeout=" + pingTimeout)
         .add("pingReqMembers=" + pingReqMembers)
+        .add("piggybackMaxBytes=" + piggybackMaxBytes)
         .toString();
   }
 }
@@ -10,6 +10,8 @@ public final class GossipConfig implements Cloneable {
   public static final int DEFAULT_GOSSIP_FANOUT = 3;
   public static final int DEFAULT_GOSSIP_REPEAT_MULT = 3;
   public static final int GOSSIP_SEGMENTATION_THRESHOLD = 1000;
+  public static final int DEFAULT_GOSSIP_BATCH_SIZE = 16;
+  public static final int DEFAULT_GOSSIP_BATCH_MAX_BYTES = 64 * 1024;
 
   // Default settings for WAN cluster (overrides default/LAN settings)
   public static final int DEFAULT_WAN_GOSSIP_FANOUT = 4;
@@ -23,6 +25,8 @@ public final class GossipConfig implements Cloneable {
   private long gossipInterval = DEFAULT_GOSSIP_INTERVAL;
   private int gossipRepeatMult = DEFAULT_GOSSIP_REPEAT_MULT;
   private int gossipSegmentationThreshold = GOSSIP_SEGMENTATION_THRESHOLD;
+  private int gossipBatchSize = DEFAULT_GOSSIP_BATCH_SIZE;
+  private int gossipBatchMaxBytes = DEFAULT_GOSSIP_BATCH_MAX_BYTES;
 
   public GossipConfig() {}
 
@@ -121,11 +125,13 @@ public GossipConfig gossipSegmentationThreshold(int gossipSegmentationThreshold)
   }
 
   /**
-   * A threshold for received gossip id intervals. If number of intervals is more than threshold
-   * then warning will be raised, this mean that node losing network frequently for a long time.
+   * Size of window of gossip ids which are tracked for every gossiper to filter out duplicate
+   * gossips. Gossips with ids below the window are rejected, gossips never received before window
+   * moved past them are counted as missed and warning is raised, this mean that node losing network
+   * frequently for a long time.
    *
-   * <p>For example if we received gossip with id 1,2 and 5 then we will have 2 intervals [1, 2],
-   * [5, 5].
+   * <p>For example with window of 1000 ids, if we received gossips with ids up to 1200 except 100,
+   * then gossip 100 is missed.
    *
    * @return gossip segmentation threshold
    */
@@ -133,6 +139,53 @@ public int gossipSegmentationThreshold() {
     return gossipSegmentationThreshold;
   }
 
+  /**
+   * Setter for {@code gossipBatchSize}.
+   *
+   * @param gossipBatchSize max number of gossips per gossip request
+   * @return new {@code GossipConfig}
+   * @see #gossipBatchSize()
+   */
+  public GossipConfig gossipBatchSize(int gossipBatchSize) {
+    GossipConfig g = clone();
+    g.gossipBatchSize = gossipBatchSize;
+    return g;
+  }
+
+  /**
+   * Max number of gossips which are packed into one gossip request sent to a member during a gossip
+   * round. Value {@code 1} means that every gossip is sent in its own request.
+   *
+   * @return gossip batch size
+   */
+  public int gossipBatchSize() {
+    return gossipBatchSize;
+  }
+
+  /**
+   * Setter for {@code gossipBatchMaxBytes}.
+   *
+   * @param gossipBatchMaxBytes max estimated size in bytes of gossip request
+   * @return new {@code GossipConfig}
+   * @see #gossipBatchMaxBytes()
+   */
+  public GossipConfig gossipBatchMaxBytes(int gossipBatchMaxBytes) {
+    GossipConfig g = clone();
+    g.gossipBatchMaxBytes = gossipBatchMaxBytes;
+    return g;
+  }
+
+  /**
+   * Max estimated size in bytes of encoded gossips packed into one gossip request. A gossip which
+   * alone exceeds this limit is sent in its own request. Must not be greater than transport max
+   * frame length.
+   *
+   * @return gossip batch max bytes
+   */
+  public int gossipBatchMaxBytes() {
+    return gossipBatchMaxBytes;
+  }
+
   @Override
   public GossipConfig clone() {
     try {
@@ -149,6 +202,8 @@ public String toString() {
         .add("gossipInterval=" + gossipInterval)
         .add("gossipRepeatMult=" + gossipRepeatMult)
         .add("gossipSegmentationThreshold=" + gossipSegmentationThreshold)
+        .add("gossipBatchSize=" + gossipBatchSize)
+        .add("gossipBatchMaxBytes=" + gossipBatchMaxBytes)
         .toString();
   }
 }
@@ -14,6 +14,7 @@ public final class MembershipConfig implements Cloneable {
   public static final int DEFAULT_SYNC_INTERVAL = 30_000;
   public static final int DEFAULT_SYNC_TIMEOUT = 3_000;
   public static final int DEFAULT_SUSPICION_MULT = 5;
+  public static final int DEFAULT_SYNC_PAGE_SIZE = 500;
 
   // Default settings for WAN cluster (overrides default/LAN settings)
   public static final int DEFAULT_WAN_SUSPICION_MULT = 6;
@@ -28,6 +29,7 @@ public final class MembershipConfig implements Cloneable {
   private int syncInterval = DEFAULT_SYNC_INTERVAL;
   private int syncTimeout = DEFAULT_SYNC_TIMEOUT;
   private int suspicionMult = DEFAULT_SUSPICION_MULT;
+  private int syncPageSize = DEFAULT_SYNC_PAGE_SIZE;
   private int removedMembersHistorySize = 42;
   private String namespace = "default";
 
@@ -126,6 +128,23 @@ public MembershipConfig syncTimeout(int syncTimeout) {
     return m;
   }
 
+  public int syncPageSize() {
+    return syncPageSize;
+  }
+
+  /**
+   * Setter for {@code syncPageSize}. Membership table is sent in sync messages by pages of at most
+   * this number of records, so that sync message size stays bounded regardless of cluster size.
+   *
+   * @param syncPageSize max number of membership records in one sync message
+   * @return new {@code MembershipConfig} instance
+   */
+  public MembershipConfig syncPageSize(int syncPageSize) {
+    MembershipConfig m = clone();
+    m.syncPageSize = syncPageSize;
+    return m;
+  }
+
   public int suspicionMult() {
     return suspicionMult;
   }
@@ -189,6 +208,7 @@ public String toString() {
         .add("seedMembers=" + seedMembers)
         .add("syncInterval=" + syncInterval)
         .add("syncTimeout=" + syncTimeout)
+        .add("syncPageSize=" + syncPageSize)
         .add("suspicionMult=" + suspicionMult)
         .add("namespace='" + namespace + "'")
         .add("removedMembersHistorySize=" + removedMembersHistorySize)
@@ -55,6 +55,11 @@ public Mono<Void> send(Address address, Message message) {
                 .flatMap(msg -> transport.send(address, msg)));
   }
 
+  @Override
+  public Mono<Void> connect(Address address) {
+    return transport.connect(address);
+  }
+
   @Override
   public Mono<Message> requestResponse(Address address, Message request) {
     return Mono.defer(
@@ -82,6 +87,14 @@ public Flux<Message> listen() {
         .onBackpressureBuffer();
   }
 
+  @Override
+  public Flux<Message> listen(String qualifier) {
+    return transport
+        .listen(qualifier)
+        .filter(message -> networkEmulator.inboundSettings(message.sender()).shallPass())
+        .onBackpressureBuffer();
+  }
+
   private Message enhanceWithSender(Message message) {
     return Message.with(message).sender(transport.address()).build();
   }
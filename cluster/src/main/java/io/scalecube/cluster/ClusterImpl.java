@@ -19,6 +19,7 @@
 import io.scalecube.cluster.transport.api.TransportFactory;
 import io.scalecube.net.Address;
 import io.scalecube.transport.netty.TransportImpl;
+import io.scalecube.transport.netty.udp.UdpTransportFactory;
 import io.scalecube.utils.ServiceLoaderUtil;
 import java.io.Serializable;
 import java.lang.management.ManagementFactory;
@@ -66,6 +67,7 @@ public final class ClusterImpl implements Cluster {
                   FailureDetectorImpl.PING_ACK,
                   MembershipProtocolImpl.SYNC,
                   MembershipProtocolImpl.SYNC_ACK,
+                  MembershipProtocolImpl.SYNC_DIGEST,
                   GossipProtocolImpl.GOSSIP_REQ,
                   MetadataStoreImpl.GET_METADATA_REQ,
                   MetadataStoreImpl.GET_METADATA_RESP)
@@ -74,6 +76,27 @@ public final class ClusterImpl implements Cluster {
   private static final Set<String> SYSTEM_GOSSIPS =
       Collections.singleton(MembershipProtocolImpl.MEMBERSHIP_GOSSIP);
 
+  // Small periodically resent system messages: may be dropped when outbound queue to peer is
+  // overflown, and are sent in datagrams if transport supports it
+  private static final Set<String> DROPPABLE_SYSTEM_MESSAGES =
+      Collections.unmodifiableSet(
+          Stream.of(
+                  FailureDetectorImpl.PING,
+                  FailureDetectorImpl.PING_REQ,
+                  FailureDetectorImpl.PING_ACK,
+                  GossipProtocolImpl.GOSSIP_REQ)
+              .collect(Collectors.toSet()));
+
+  // Failure detector messages, sent over separate connection to keep their latency bounded if
+  // system priority lane is on
+  private static final Set<String> PRIORITY_SYSTEM_MESSAGES =
+      Collections.unmodifiableSet(
+          Stream.of(
+                  FailureDetectorImpl.PING,
+                  FailureDetectorImpl.PING_REQ,
+                  FailureDetectorImpl.PING_ACK)
+              .collect(Collectors.toSet()));
+
   private ClusterConfig config;
   private Function<Cluster, ? extends ClusterMessageHandler> handler =
       cluster -> new ClusterMessageHandler() {};
@@ -246,7 +269,32 @@ private Mono<Cluster> doStart() {
   }
 
   private Mono<Cluster> doStart0() {
-    return TransportImpl.bind(config.transportConfig())
+    TransportConfig transportConfig = config.transportConfig();
+    Set<String> droppableQualifiers =
+        Stream.concat(
+                transportConfig.droppableQualifiers().stream(), DROPPABLE_SYSTEM_MESSAGES.stream())
+            .collect(Collectors.toSet());
+    Set<String> priorityQualifiers =
+        transportConfig.isSystemPriorityLane() && !transportConfig.isDatagramTransport()
+            ? Stream.concat(
+                    transportConfig.priorityQualifiers().stream(),
+                    PRIORITY_SYSTEM_MESSAGES.stream())
+                .collect(Collectors.toSet())
+            : transportConfig.priorityQualifiers();
+    Set<String> datagramQualifiers =
+        Stream.concat(
+                transportConfig.datagramQualifiers().stream(), DROPPABLE_SYSTEM_MESSAGES.stream())
+            .collect(Collectors.toSet());
+    TransportFactory transportFactory =
+        transportConfig.isDatagramTransport() && transportConfig.transportFactory() == null
+            ? new UdpTransportFactory()
+            : transportConfig.transportFactory();
+    return TransportImpl.bind(
+            transportConfig
+                .transportFactory(transportFactory)
+                .droppableQualifiers(droppableQualifiers)
+                .priorityQualifiers(priorityQualifiers)
+                .datagramQualifiers(datagramQualifiers))
         .flatMap(
             transport1 -> {
               localMember = createLocalMember(transport1.address());
@@ -256,22 +304,24 @@ private Mono<Cluster> doStart0() {
               scheduler = Schedulers.newSingle("sc-cluster-" + localMember.address().port(), true);
               monitorModelBuilder = new ClusterMonitorModel.Builder();
 
-              failureDetector =
-                  new FailureDetectorImpl(
+              gossip =
+                  new GossipProtocolImpl(
                       localMember,
                       transport,
                       membershipEvents.onBackpressureBuffer(),
-                      config.failureDetectorConfig(),
+                      gossipConfig(transport1),
                       scheduler,
-                      cidGenerator);
+                      config.transportConfig().messageCodec());
 
-              gossip =
-                  new GossipProtocolImpl(
+              failureDetector =
+                  new FailureDetectorImpl(
                       localMember,
                       transport,
                       membershipEvents.onBackpressureBuffer(),
-                      config.gossipConfig(),
-                      scheduler);
+                      config.failureDetectorConfig(),
+                      scheduler,
+                      cidGenerator,
+                      gossip);
 
               metadataStore =
                   new MetadataStoreImpl(
@@ -297,6 +347,15 @@ private Mono<Cluster> doStart0() {
                       // Dont uncomment, already beign executed inside sc-cluster thread
                       .subscribe(membershipSink::next, this::onError, membershipSink::complete));
 
+              if (transportConfig.isEagerConnect()) {
+                actionsDisposables.add(
+                    // Dial new members right away, so that first message doesn't wait for it
+                    membership
+                        .listen()
+                        .filter(MembershipEvent::isAdded)
+                        .subscribe(this::connectMember, this::onError));
+              }
+
               return Mono.fromRunnable(() -> failureDetector.start())
                   .then(Mono.fromRunnable(() -> gossip.start()))
                   .then(Mono.fromRunnable(() -> metadataStore.start()))
@@ -310,6 +369,34 @@ private Mono<Cluster> doStart0() {
         .thenReturn(this);
   }
 
+  private GossipConfig gossipConfig(Transport transport) {
+    GossipConfig gossipConfig = config.gossipConfig();
+    if (transport instanceof TransportImpl && ((TransportImpl) transport).isDatagramTransport()) {
+      // Keep gossip requests within datagram, otherwise they fall back to stream connection
+      int batchMaxBytes =
+          config.transportConfig().maxDatagramSize()
+              - GossipProtocolImpl.GOSSIP_REQUEST_OVERHEAD_BYTES;
+      if (gossipConfig.gossipBatchMaxBytes() > batchMaxBytes) {
+        gossipConfig = gossipConfig.gossipBatchMaxBytes(batchMaxBytes);
+      }
+    }
+    return gossipConfig;
+  }
+
+  private void connectMember(MembershipEvent event) {
+    Address address = event.member().address();
+    transport
+        .connect(address)
+        .subscribe(
+            null,
+            ex ->
+                LOGGER.warn(
+                    "[{}][connectMember][{}] Exception occurred: {}",
+                    localMember,
+                    address,
+                    ex.toString()));
+  }
+
   private void validateConfiguration() {
     final MetadataCodec metadataCodec =
         ServiceLoaderUtil.findFirst(MetadataCodec.class).orElse(null);
@@ -326,6 +413,12 @@ private void validateConfiguration() {
         config.transportConfig().messageCodec(),
         "Invalid cluster configuration: transport.messageCodec must be specified");
 
+    if (config.gossipConfig().gossipBatchMaxBytes() > config.transportConfig().maxFrameLength()) {
+      throw new IllegalArgumentException(
+          "Invalid cluster config: gossip.gossipBatchMaxBytes must not exceed "
+              + "transport.maxFrameLength");
+    }
+
     Objects.requireNonNull(
         config.membershipConfig().namespace(),
         "Invalid cluster configuration: membership.namespace must be specified");
@@ -572,11 +665,21 @@ public Mono<Message> requestResponse(Address address, Message request) {
       return Mono.defer(() -> transport.requestResponse(address, enhanceWithSender(request)));
     }
 
+    @Override
+    public Mono<Void> connect(Address address) {
+      return transport.connect(address);
+    }
+
     @Override
     public Flux<Message> listen() {
       return transport.listen();
     }
 
+    @Override
+    public Flux<Message> listen(String qualifier) {
+      return transport.listen(qualifier);
+    }
+
     private Message enhanceWithSender(Message message) {
       return Message.with(message).sender(address).build();
     }
@@ -3,6 +3,7 @@
 import io.scalecube.cluster.CorrelationIdGenerator;
 import io.scalecube.cluster.Member;
 import io.scalecube.cluster.fdetector.PingData.AckType;
+import io.scalecube.cluster.gossip.GossipProtocol;
 import io.scalecube.cluster.membership.MemberStatus;
 import io.scalecube.cluster.membership.MembershipEvent;
 import io.scalecube.cluster.transport.api.Message;
@@ -42,6 +43,7 @@ public final class FailureDetectorImpl implements FailureDetector {
   private final Transport transport;
   private final FailureDetectorConfig config;
   private final CorrelationIdGenerator cidGenerator;
+  private final GossipProtocol gossipProtocol;
 
   // State
 
@@ -79,12 +81,36 @@ public FailureDetectorImpl(
       FailureDetectorConfig config,
       Scheduler scheduler,
       CorrelationIdGenerator cidGenerator) {
+    this(localMember, transport, membershipProcessor, config, scheduler, cidGenerator, null);
+  }
+
+  /**
+   * Creates new instance of failure detector with given transport and settings.
+   *
+   * @param localMember local cluster member
+   * @param transport cluster transport
+   * @param membershipProcessor membership event processor
+   * @param config failure detector settings
+   * @param scheduler scheduler
+   * @param cidGenerator correlationId generator
+   * @param gossipProtocol gossip protocol to piggyback gossips on pings and acks, may be null if
+   *     gossips are not piggybacked
+   */
+  public FailureDetectorImpl(
+      Member localMember,
+      Transport transport,
+      Flux<MembershipEvent> membershipProcessor,
+      FailureDetectorConfig config,
+      Scheduler scheduler,
+      CorrelationIdGenerator cidGenerator,
+      GossipProtocol gossipProtocol) {
 
     this.localMember = Objects.requireNonNull(localMember);
     this.transport = Objects.requireNonNull(transport);
     this.config = Objects.requireNonNull(config);
     this.scheduler = Objects.requireNonNull(scheduler);
     this.cidGenerator = Objects.requireNonNull(cidGenerator);
+    this.gossipProtocol = gossipProtocol;
 
     // Subscribe
     actionsDisposables.addAll(
@@ -92,8 +118,10 @@ public FailureDetectorImpl(
             membershipProcessor // Listen membership events to update remoteMembers
                 .publishOn(scheduler)
                 .subscribe(this::onMemberEvent, this::onError),
-            transport
-                .listen() // Listen failure detector requests
+            Flux.merge(
+                    transport.listen(PING), // Listen failure detector requests
+                    transport.listen(PING_REQ),
+                    transport.listen(PING_ACK))
                 .publishOn(scheduler)
                 .subscribe(this::onMessage, this::onError)));
   }
@@ -135,7 +163,7 @@ private void doPing() {
 
     // Send ping
     String cid = cidGenerator.nextCid();
-    PingData pingData = new PingData(localMember, pingMember);
+    PingData pingData = new PingData(localMember, pingMember).withGossips(piggyback(pingMember));
     Message pingMsg = Message.withData(pingData).qualifier(PING).correlationId(cid).build();
 
     LOGGER.debug("[{}][{}] Send Ping to {}", localMember, period, pingMember);
@@ -148,7 +176,12 @@ private void doPing() {
             message -> {
               LOGGER.debug(
                   "[{}][{}] Received PingAck from {}", localMember, period, message.sender());
-              publishPingResult(period, pingMember, computeMemberStatus(message, period));
+              MemberStatus status = computeMemberStatus(message, period);
+              if (status == MemberStatus.ALIVE && pingData.getGossips() != null) {
+                // Ping with piggybacked gossips reached the member
+                gossipProtocol.onPiggybackAcked(pingMember, pingData.getGossips());
+              }
+              publishPingResult(period, pingMember, status);
             },
             ex -> {
               LOGGER.debug(
@@ -214,6 +247,24 @@ private void doPingReq(
   // ================================================
 
   private void onMessage(Message message) {
+    PingData data;
+    try {
+      data = message.data();
+    } catch (IllegalStateException e) {
+      // Malformed message is dropped rather than fails listener (and so cancels subscription)
+      LOGGER.warn(
+          "[{}][{}] Dropped malformed {} from {}, cause: {}",
+          localMember,
+          currentPeriod,
+          message.qualifier(),
+          message.sender(),
+          String.valueOf(e.getCause()));
+      return;
+    }
+    Message gossips = data.getGossips();
+    if (gossips != null && gossipProtocol != null) {
+      gossipProtocol.onPiggyback(gossips);
+    }
     if (isPing(message)) {
       onPing(message);
     } else if (isPingReq(message)) {
@@ -240,6 +291,7 @@ private void onPing(Message message) {
           localMember);
       data = data.withAckType(AckType.DEST_GONE);
     }
+    data = data.withGossips(piggyback(data.getFrom()));
     String correlationId = message.correlationId();
     Message ackMessage =
         Message.withData(data).qualifier(PING_ACK).correlationId(correlationId).build();
@@ -266,7 +318,8 @@ private void onPingReq(Message message) {
     Member target = data.getTo();
     Member originalIssuer = data.getFrom();
     String correlationId = message.correlationId();
-    PingData pingReqData = new PingData(localMember, target, originalIssuer);
+    PingData pingReqData =
+        new PingData(localMember, target, originalIssuer).withGossips(piggyback(target));
     Message pingMessage =
         Message.withData(pingReqData).qualifier(PING).correlationId(correlationId).build();
     Address address = target.address();
@@ -296,7 +349,10 @@ private void onTransitPingAck(Message message) {
     AckType ackType = data.getAckType();
     Member target = data.getOriginalIssuer();
     String correlationId = message.correlationId();
-    PingData originalAckData = new PingData(target, data.getTo()).withAckType(ackType);
+    // Gossips piggybacked by the member are forwarded, they were selected for this relay member,
+    // which has already accepted them, but are still worth spreading to original issuer
+    PingData originalAckData =
+        new PingData(target, data.getTo()).withAckType(ackType).withGossips(data.getGossips());
     Message originalAckMessage =
         Message.withData(originalAckData).qualifier(PING_ACK).correlationId(correlationId).build();
     Address address = target.address();
@@ -374,6 +430,13 @@ private List<Member> selectPingReqMembers(Member pingMember) {
     return selectAll ? candidates : candidates.subList(0, config.pingReqMembers());
   }
 
+  private Message piggyback(Member member) {
+    int maxBytes = config.piggybackMaxBytes();
+    return gossipProtocol != null && maxBytes > 0
+        ? gossipProtocol.piggyback(member, maxBytes)
+        : null;
+  }
+
   private void publishPingResult(long period, Member member, MemberStatus status) {
     LOGGER.debug("[{}][{}] Member {} detected as {}", localMember, period, member, status);
     sink.next(new FailureDetectorEvent(member, status));
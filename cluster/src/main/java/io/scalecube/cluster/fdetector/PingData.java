@@ -1,10 +1,13 @@
 package io.scalecube.cluster.fdetector;
 
 import io.scalecube.cluster.Member;
+import io.scalecube.cluster.transport.api.Message;
+import java.io.EOFException;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.io.OptionalDataException;
 import java.util.StringJoiner;
 
 /** DTO class. Supports FailureDetector messages (Ping, Ack, PingReq). */
@@ -37,6 +40,8 @@ enum AckType {
   private Member originalIssuer;
   /** Ping response type. */
   private AckType ackType;
+  /** Gossips piggybacked on ping or ack, may be null. */
+  private Message gossips;
 
   public PingData() {}
 
@@ -45,6 +50,7 @@ private PingData(PingData other) {
     this.to = other.to;
     this.originalIssuer = other.originalIssuer;
     this.ackType = other.ackType;
+    this.gossips = other.gossips;
   }
 
   public PingData(Member from, Member to) {
@@ -77,12 +83,28 @@ public AckType getAckType() {
     return ackType;
   }
 
+  public Message getGossips() {
+    return gossips;
+  }
+
   public PingData withAckType(AckType ackType) {
     PingData p = new PingData(this);
     p.ackType = ackType;
     return p;
   }
 
+  /**
+   * Returns copy of this ping data with given gossips.
+   *
+   * @param gossips gossips to piggyback, may be null
+   * @return new {@code PingData}
+   */
+  public PingData withGossips(Message gossips) {
+    PingData p = new PingData(this);
+    p.gossips = gossips;
+    return p;
+  }
+
   @Override
   public void writeExternal(ObjectOutput out) throws IOException {
     // from
@@ -93,6 +115,10 @@ public void writeExternal(ObjectOutput out) throws IOException {
     out.writeObject(originalIssuer);
     // ackType
     out.writeObject(ackType);
+    // gossips, written only if present so that ping without them keeps former format
+    if (gossips != null) {
+      out.writeObject(gossips);
+    }
   }
 
   @Override
@@ -105,6 +131,22 @@ public void readExternal(ObjectInput in) throws IOException, ClassNotFoundExcept
     originalIssuer = (Member) in.readObject();
     // ackType
     ackType = (AckType) in.readObject();
+    // gossips
+    gossips = readGossips(in);
+  }
+
+  // End of data means that gossips weren't written, see writeExternal
+  private static Message readGossips(ObjectInput in) throws IOException, ClassNotFoundException {
+    try {
+      return (Message) in.readObject();
+    } catch (OptionalDataException e) {
+      if (e.eof) {
+        return null;
+      }
+      throw e;
+    } catch (EOFException e) {
+      return null;
+    }
   }
 
   @Override
@@ -114,6 +156,7 @@ public String toString() {
         .add("to=" + to)
         .add("originalIssuer=" + originalIssuer)
         .add("ackType=" + ackType)
+        .add("gossips=" + gossips)
         .toString();
   }
 }
@@ -0,0 +1,135 @@
+package io.scalecube.cluster.gossip;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Gossips maintained locally on each node, indexed by gossip id and bucketed by infection period.
+ * Gossips are added in order of local gossip period, so buckets are kept in a queue ordered by
+ * period: gossips which are still spread are in the tail buckets, gossips which are to be swept
+ * are in the head buckets. This way periodic tasks visit only gossips they act upon instead of
+ * scanning all of them.
+ *
+ * <p>Not thread safe, supposed to be used from gossip protocol scheduler.
+ */
+final class GossipIndex {
+
+  private final Map<String, GossipState> gossips = new HashMap<>();
+  private final ArrayDeque<Bucket> buckets = new ArrayDeque<>();
+
+  // Gossips infected before this period were already reported as disseminated
+  private long disseminatedPeriod = Long.MIN_VALUE;
+
+  GossipState get(String gossipId) {
+    return gossips.get(gossipId);
+  }
+
+  boolean isEmpty() {
+    return gossips.isEmpty();
+  }
+
+  int size() {
+    return gossips.size();
+  }
+
+  void forEach(Consumer<GossipState> action) {
+    gossips.values().forEach(action);
+  }
+
+  /**
+   * Adds gossip state. Infection period of gossip state must not be less than one of previously
+   * added gossip states.
+   *
+   * @param gossipState gossip state
+   */
+  void add(GossipState gossipState) {
+    Bucket bucket = buckets.peekLast();
+    if (bucket == null || bucket.period < gossipState.infectionPeriod()) {
+      bucket = new Bucket(gossipState.infectionPeriod());
+      buckets.addLast(bucket);
+    }
+    bucket.gossipStates.add(gossipState);
+    gossips.put(gossipState.gossip().gossipId(), gossipState);
+  }
+
+  /**
+   * Returns gossip states infected since given period, in order of infection.
+   *
+   * @param fromPeriod period (inclusive)
+   * @return gossip states
+   */
+  List<GossipState> infectedSince(long fromPeriod) {
+    List<Bucket> tail = new ArrayList<>();
+    Iterator<Bucket> iterator = buckets.descendingIterator();
+    while (iterator.hasNext()) {
+      Bucket bucket = iterator.next();
+      if (bucket.period < fromPeriod) {
+        break;
+      }
+      tail.add(bucket);
+    }
+    List<GossipState> result = new ArrayList<>();
+    for (int i = tail.size() - 1; i >= 0; i--) {
+      result.addAll(tail.get(i).gossipStates);
+    }
+    return result;
+  }
+
+  /**
+   * Returns ids of gossips infected before given period which were not returned by previous calls
+   * of this method.
+   *
+   * @param toPeriod period (exclusive)
+   * @return gossip ids
+   */
+  List<String> disseminatedBefore(long toPeriod) {
+    if (toPeriod <= disseminatedPeriod) {
+      return Collections.emptyList();
+    }
+    List<String> result = new ArrayList<>();
+    for (Bucket bucket : buckets) {
+      if (bucket.period >= toPeriod) {
+        break;
+      }
+      if (bucket.period >= disseminatedPeriod) {
+        bucket.gossipStates.forEach(gossipState -> result.add(gossipState.gossip().gossipId()));
+      }
+    }
+    disseminatedPeriod = toPeriod;
+    return result;
+  }
+
+  /**
+   * Removes gossips infected before given period.
+   *
+   * @param toPeriod period (exclusive)
+   * @return ids of removed gossips
+   */
+  List<String> removeBefore(long toPeriod) {
+    List<String> result = new ArrayList<>();
+    while (!buckets.isEmpty() && buckets.peekFirst().period < toPeriod) {
+      for (GossipState gossipState : buckets.pollFirst().gossipStates) {
+        String gossipId = gossipState.gossip().gossipId();
+        gossips.remove(gossipId);
+        result.add(gossipId);
+      }
+    }
+    return result;
+  }
+
+  private static final class Bucket {
+
+    private final long period;
+    private final List<GossipState> gossipStates = new ArrayList<>();
+
+    private Bucket(long period) {
+      this.period = period;
+    }
+  }
+}
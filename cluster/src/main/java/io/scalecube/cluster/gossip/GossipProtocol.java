@@ -1,5 +1,6 @@
 package io.scalecube.cluster.gossip;
 
+import io.scalecube.cluster.Member;
 import io.scalecube.cluster.transport.api.Message;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -26,4 +27,34 @@ public interface GossipProtocol {
 
   /** Listens for gossips from other cluster members. */
   Flux<Message> listen();
+
+  /**
+   * Returns gossips to piggyback on failure detector message sent to given member, cluster's own
+   * gossips first. Returned gossips are considered as spread to given member only once it
+   * acknowledged them, see {@link #onPiggybackAcked(Member, Message)}. Must be called on scheduler
+   * of gossip protocol.
+   *
+   * @param member member
+   * @param maxBytes approximate max size of gossips in bytes
+   * @return gossip request message, or null if there are no gossips to spread to given member
+   */
+  Message piggyback(Member member, int maxBytes);
+
+  /**
+   * Accepts gossips piggybacked on failure detector message from other cluster member. Must be
+   * called on scheduler of gossip protocol.
+   *
+   * @param message gossip request message returned by {@link #piggyback(Member, int)}
+   */
+  void onPiggyback(Message message);
+
+  /**
+   * Marks gossips piggybacked on failure detector message as spread to given member, once the
+   * member acknowledged the message, so that they aren't sent to it once again in gossip request.
+   * Must be called on scheduler of gossip protocol.
+   *
+   * @param member member which acknowledged the gossips
+   * @param message gossip request message returned by {@link #piggyback(Member, int)}
+   */
+  void onPiggybackAcked(Member member, Message message);
 }
@@ -4,17 +4,19 @@
 import io.scalecube.cluster.Member;
 import io.scalecube.cluster.membership.MembershipEvent;
 import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.cluster.transport.api.MessageCodec;
 import io.scalecube.cluster.transport.api.Transport;
 import io.scalecube.net.Address;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -37,18 +39,29 @@ public final class GossipProtocolImpl implements GossipProtocol {
 
   public static final String GOSSIP_REQ = "sc/gossip/req";
 
+  // Qualifier prefix of cluster's own messages
+  private static final String SYSTEM_QUALIFIER_PREFIX = "sc/";
+
+  // Approximate size of gossip fields other than message (gossiperId, sequenceId)
+  private static final int GOSSIP_OVERHEAD_BYTES = 64;
+
+  /** Approximate size of gossip request fields other than gossips (qualifier, headers, from). */
+  public static final int GOSSIP_REQUEST_OVERHEAD_BYTES = 128;
+
   // Injected
 
   private final Member localMember;
   private final Transport transport;
   private final GossipConfig config;
+  private final MessageCodec messageCodec;
 
   // Local State
 
   private long currentPeriod = 0;
   private long gossipCounter = 0;
-  private final Map<String, SequenceIdCollector> sequenceIdCollectors = new HashMap<>();
-  private final Map<String, GossipState> gossips = new HashMap<>();
+  private final Map<String, SequenceIdWindow> sequenceIdWindows = new HashMap<>();
+  private final GossipIndex gossips = new GossipIndex();
+  private final MemberSlots memberSlots = new MemberSlots();
   private final Map<String, MonoSink<String>> futures = new HashMap<>();
 
   private final List<Member> remoteMembers = new ArrayList<>();
@@ -84,9 +97,30 @@ public GossipProtocolImpl(
       Flux<MembershipEvent> membershipProcessor,
       GossipConfig config,
       Scheduler scheduler) {
+    this(localMember, transport, membershipProcessor, config, scheduler, MessageCodec.INSTANCE);
+  }
+
+  /**
+   * Creates new instance of gossip protocol with given memberId, transport and settings.
+   *
+   * @param localMember local cluster member
+   * @param transport cluster transport
+   * @param membershipProcessor membership event processor
+   * @param config gossip protocol settings
+   * @param scheduler scheduler
+   * @param messageCodec message codec used to estimate size of gossip requests
+   */
+  public GossipProtocolImpl(
+      Member localMember,
+      Transport transport,
+      Flux<MembershipEvent> membershipProcessor,
+      GossipConfig config,
+      Scheduler scheduler,
+      MessageCodec messageCodec) {
 
     this.transport = Objects.requireNonNull(transport);
     this.config = Objects.requireNonNull(config);
+    this.messageCodec = Objects.requireNonNull(messageCodec);
     this.localMember = Objects.requireNonNull(localMember);
     this.scheduler = Objects.requireNonNull(scheduler);
 
@@ -97,9 +131,8 @@ public GossipProtocolImpl(
                 .publishOn(scheduler)
                 .subscribe(this::onMemberEvent, this::onError),
             transport
-                .listen() // Listen gossip requests
+                .listen(GOSSIP_REQ) // Listen gossip requests
                 .publishOn(scheduler)
-                .filter(this::isGossipReq)
                 .subscribe(this::onGossipReq, this::onError)));
   }
 
@@ -134,6 +167,51 @@ public Flux<Message> listen() {
     return subject.onBackpressureBuffer();
   }
 
+  @Override
+  public Message piggyback(Member member, int maxBytes) {
+    if (gossips.isEmpty()) {
+      return null;
+    }
+    int periodsToSpread =
+        ClusterMath.gossipPeriodsToSpread(config.gossipRepeatMult(), remoteMembers.size() + 1);
+    List<GossipState> candidates =
+        selectGossipsToSend(member, gossips.infectedSince(currentPeriod - periodsToSpread));
+    candidates.sort(Comparator.comparing(gossipState -> !isSystemGossip(gossipState)));
+
+    List<Gossip> selected = new ArrayList<>();
+    long bytes = 0;
+    for (GossipState gossipState : candidates) {
+      int gossipBytes = estimateSize(gossipState);
+      if (bytes + gossipBytes <= maxBytes) {
+        bytes += gossipBytes;
+        // Not marked as infected yet, as ping or ack carrying it may be lost
+        selected.add(gossipState.gossip());
+      }
+    }
+    return selected.isEmpty() ? null : buildGossipRequestMessage(selected);
+  }
+
+  @Override
+  public void onPiggyback(Message message) {
+    onGossipReq(message);
+  }
+
+  @Override
+  public void onPiggybackAcked(Member member, Message message) {
+    int memberSlot = memberSlots.find(member.id());
+    if (memberSlot < 0) { // not a remote member (e.g. already removed)
+      return;
+    }
+    GossipRequest gossipRequest = message.data();
+    for (Gossip gossip : gossipRequest.gossips()) {
+      GossipState gossipState = gossips.get(gossip.gossipId());
+      if (gossipState != null) { // not swept yet
+        // Don't send it to the member once again in gossip request
+        gossipState.addToInfected(memberSlot);
+      }
+    }
+  }
+
   // ================================================
   // ============== Action Methods ==================
   // ================================================
@@ -142,8 +220,8 @@ private void doSpreadGossip() {
     // Increment period
     long period = currentPeriod++;
 
-    // Check segments
-    checkGossipSegmentation();
+    // Check missed gossips
+    checkMissedGossips();
 
     // Check any gossips exists
     if (gossips.isEmpty()) {
@@ -151,20 +229,19 @@ private void doSpreadGossip() {
     }
 
     try {
-      // Spread gossips to randomly selected member(s)
-      selectGossipMembers().forEach(member -> spreadGossipsTo(period, member));
+      int repeatMult = config.gossipRepeatMult();
+      int clusterSize = remoteMembers.size() + 1;
+      int periodsToSpread = ClusterMath.gossipPeriodsToSpread(repeatMult, clusterSize);
+      int periodsToSweep = ClusterMath.gossipPeriodsToSweep(repeatMult, clusterSize);
 
-      // Sweep gossips
-      Set<String> gossipsToRemove = getGossipsToRemove(period);
-      if (!gossipsToRemove.isEmpty()) {
-        LOGGER.debug("[{}][{}] Sweep gossips: {}", localMember, period, gossipsToRemove);
-        for (String gossipId : gossipsToRemove) {
-          gossips.remove(gossipId);
-        }
+      // Spread gossips to randomly selected member(s)
+      List<GossipState> gossipsToSpread = gossips.infectedSince(period - periodsToSpread);
+      if (!gossipsToSpread.isEmpty()) {
+        selectGossipMembers().forEach(member -> spreadGossipsTo(period, member, gossipsToSpread));
       }
 
-      // Check spread gossips
-      Set<String> gossipsThatSpread = getGossipsThatMostLikelyDisseminated(period);
+      // Check spread gossips (before sweep, so no gossip is swept unnoticed)
+      List<String> gossipsThatSpread = gossips.disseminatedBefore(period - periodsToSpread);
       if (!gossipsThatSpread.isEmpty()) {
         LOGGER.debug(
             "[{}][{}] Most likely disseminated gossips: {}",
@@ -178,6 +255,12 @@ private void doSpreadGossip() {
           }
         }
       }
+
+      // Sweep gossips
+      List<String> gossipsToRemove = gossips.removeBefore(period - periodsToSweep);
+      if (!gossipsToRemove.isEmpty()) {
+        LOGGER.debug("[{}][{}] Sweep gossips: {}", localMember, period, gossipsToRemove);
+      }
     } catch (Exception ex) {
       LOGGER.warn("[{}][{}][doSpreadGossip] Exception occurred:", localMember, period, ex);
     }
@@ -192,7 +275,7 @@ private String createAndPutGossip(Message message) {
     final Gossip gossip = createGossip(message);
     final GossipState gossipState = new GossipState(gossip, period);
 
-    gossips.put(gossip.gossipId(), gossipState);
+    gossips.add(gossipState);
     ensureSequence(localMember.id()).add(gossip.sequenceId());
 
     return gossip.gossipId();
@@ -200,37 +283,51 @@ private String createAndPutGossip(Message message) {
 
   private void onGossipReq(Message message) {
     final long period = this.currentPeriod;
-    final GossipRequest gossipRequest = message.data();
+    final GossipRequest gossipRequest;
+    try {
+      gossipRequest = message.data();
+    } catch (IllegalStateException e) {
+      // Malformed message is dropped rather than fails listener (and so cancels subscription)
+      LOGGER.warn(
+          "[{}][{}] Dropped malformed GossipRequest from {}, cause: {}",
+          localMember,
+          period,
+          message.sender(),
+          String.valueOf(e.getCause()));
+      return;
+    }
+    // Sender which isn't a remote member (e.g. already removed) gets no slot
+    final int fromSlot = memberSlots.find(gossipRequest.from());
     for (Gossip gossip : gossipRequest.gossips()) {
       if (ensureSequence(gossip.gossiperId()).add(gossip.sequenceId())) {
         GossipState gossipState = gossips.get(gossip.gossipId());
         if (gossipState == null) { // new gossip
           gossipState = new GossipState(gossip, period);
-          gossips.put(gossip.gossipId(), gossipState);
+          gossips.add(gossipState);
           sink.next(gossip.message());
         }
-        gossipState.addToInfected(gossipRequest.from());
+        if (fromSlot >= 0) {
+          gossipState.addToInfected(fromSlot);
+        }
       }
     }
   }
 
-  private void checkGossipSegmentation() {
-    final int intervalsThreshold = config.gossipSegmentationThreshold();
-    for (Entry<String, SequenceIdCollector> entry : sequenceIdCollectors.entrySet()) {
-      // Size of sequenceIdCollector could grow only if we never received some messages.
+  private void checkMissedGossips() {
+    for (Entry<String, SequenceIdWindow> entry : sequenceIdWindows.entrySet()) {
+      // Gossips are missed only if we never received some messages before they left the window.
       // Which is possible only if current node wasn't available(suspected) for some time
       // or network issue
-      final SequenceIdCollector sequenceIdCollector = entry.getValue();
-      if (sequenceIdCollector.size() > intervalsThreshold) {
+      final long missed = entry.getValue().takeMissed();
+      if (missed > 0) {
         LOGGER.warn(
-            "[{}][{}] Too many missed gossip messages from original gossiper: '{}', "
+            "[{}][{}] Missed {} gossip messages from original gossiper: '{}', "
                 + "current node({}) was SUSPECTED much for a long time or connection problem",
             localMember,
             currentPeriod,
+            missed,
             entry.getKey(),
             localMember);
-
-        sequenceIdCollector.clear();
       }
     }
   }
@@ -239,7 +336,12 @@ private void onMemberEvent(MembershipEvent event) {
     Member member = event.member();
     if (event.isRemoved()) {
       boolean removed = remoteMembers.remove(member);
-      sequenceIdCollectors.remove(member.id());
+      sequenceIdWindows.remove(member.id());
+      int slot = memberSlots.release(member.id());
+      if (slot >= 0) {
+        // Slot will be reused by another member
+        gossips.forEach(gossipState -> gossipState.removeFromInfected(slot));
+      }
       if (removed) {
         LOGGER.debug(
             "[{}][{}] Removed {} from remoteMembers list (size={})",
@@ -251,6 +353,7 @@ private void onMemberEvent(MembershipEvent event) {
     }
     if (event.isAdded()) {
       remoteMembers.add(member);
+      memberSlots.slot(member.id());
       LOGGER.debug(
           "[{}][{}] Added {} to remoteMembers list (size={})",
           localMember,
@@ -268,29 +371,26 @@ private void onError(Throwable throwable) {
   // ============== Helper Methods ==================
   // ================================================
 
-  private boolean isGossipReq(Message message) {
-    return GOSSIP_REQ.equals(message.qualifier());
-  }
-
   private Gossip createGossip(Message message) {
     return new Gossip(localMember.id(), message, gossipCounter++);
   }
 
-  private SequenceIdCollector ensureSequence(String key) {
-    return sequenceIdCollectors.computeIfAbsent(key, s -> new SequenceIdCollector());
+  private SequenceIdWindow ensureSequence(String key) {
+    return sequenceIdWindows.computeIfAbsent(
+        key, s -> new SequenceIdWindow(config.gossipSegmentationThreshold()));
   }
 
-  private void spreadGossipsTo(long period, Member member) {
+  private void spreadGossipsTo(long period, Member member, List<GossipState> gossipsToSpread) {
     // Select gossips to send
-    List<Gossip> gossips = selectGossipsToSend(period, member);
-    if (gossips.isEmpty()) {
+    List<GossipState> gossipStates = selectGossipsToSend(member, gossipsToSpread);
+    if (gossipStates.isEmpty()) {
       return; // nothing to spread
     }
 
-    // Send gossip request
+    // Send gossip requests
     Address address = member.address();
 
-    gossips.stream()
+    splitToBatches(gossipStates).stream()
         .map(this::buildGossipRequestMessage)
         .forEach(
             message ->
@@ -308,15 +408,73 @@ private void spreadGossipsTo(long period, Member member) {
                                 ex.toString())));
   }
 
-  private List<Gossip> selectGossipsToSend(long period, Member member) {
-    int periodsToSpread =
-        ClusterMath.gossipPeriodsToSpread(config.gossipRepeatMult(), remoteMembers.size() + 1);
-    return gossips.values().stream()
-        .filter(
-            gossipState -> gossipState.infectionPeriod() + periodsToSpread >= period) // max rounds
-        .filter(gossipState -> !gossipState.isInfected(member.id())) // already infected
-        .map(GossipState::gossip)
-        .collect(Collectors.toList());
+  private List<GossipState> selectGossipsToSend(
+      Member member, List<GossipState> gossipsToSpread) {
+    int memberSlot = memberSlots.slot(member.id());
+    List<GossipState> gossipStates = new ArrayList<>(gossipsToSpread.size());
+    for (GossipState gossipState : gossipsToSpread) {
+      if (!gossipState.isInfected(memberSlot)) { // already infected
+        gossipStates.add(gossipState);
+      }
+    }
+    return gossipStates;
+  }
+
+  private static boolean isSystemGossip(GossipState gossipState) {
+    String qualifier = gossipState.gossip().message().qualifier();
+    return qualifier != null && qualifier.startsWith(SYSTEM_QUALIFIER_PREFIX);
+  }
+
+  private List<List<Gossip>> splitToBatches(List<GossipState> gossipStates) {
+    final int batchSize = config.gossipBatchSize();
+    final int batchMaxBytes = config.gossipBatchMaxBytes();
+
+    if (batchSize <= 1) {
+      return gossipStates.stream()
+          .map(gossipState -> Collections.singletonList(gossipState.gossip()))
+          .collect(Collectors.toList());
+    }
+
+    List<List<Gossip>> batches = new ArrayList<>();
+    List<Gossip> batch = new ArrayList<>();
+    long batchBytes = 0;
+
+    for (GossipState gossipState : gossipStates) {
+      int gossipBytes = estimateSize(gossipState);
+      if (!batch.isEmpty()
+          && (batch.size() >= batchSize || batchBytes + gossipBytes > batchMaxBytes)) {
+        batches.add(batch);
+        batch = new ArrayList<>();
+        batchBytes = 0;
+      }
+      batch.add(gossipState.gossip());
+      batchBytes += gossipBytes;
+    }
+    batches.add(batch);
+
+    return batches;
+  }
+
+  private int estimateSize(GossipState gossipState) {
+    if (gossipState.estimatedSize() < 0) {
+      Gossip gossip = gossipState.gossip();
+      ByteCountingOutputStream stream = new ByteCountingOutputStream();
+      int estimatedSize;
+      try {
+        messageCodec.serialize(gossip.message(), stream);
+        estimatedSize = stream.count() + gossip.gossiperId().length() + GOSSIP_OVERHEAD_BYTES;
+      } catch (Exception ex) {
+        LOGGER.warn(
+            "[{}][{}] Failed to estimate size of gossip: {}, cause: {}",
+            localMember,
+            currentPeriod,
+            gossip.gossipId(),
+            ex.toString());
+        estimatedSize = Integer.MAX_VALUE; // will be sent alone
+      }
+      gossipState.estimatedSize(estimatedSize);
+    }
+    return gossipState.estimatedSize();
   }
 
   private List<Member> selectGossipMembers() {
@@ -342,29 +500,28 @@ private List<Member> selectGossipMembers() {
     }
   }
 
-  private Message buildGossipRequestMessage(Gossip gossip) {
-    GossipRequest gossipRequest = new GossipRequest(gossip, localMember.id());
+  private Message buildGossipRequestMessage(List<Gossip> gossips) {
+    GossipRequest gossipRequest = new GossipRequest(gossips, localMember.id());
     return Message.withData(gossipRequest).qualifier(GOSSIP_REQ).build();
   }
 
-  private Set<String> getGossipsToRemove(long period) {
-    // Select gossips to sweep
-    int periodsToSweep =
-        ClusterMath.gossipPeriodsToSweep(config.gossipRepeatMult(), remoteMembers.size() + 1);
-    return gossips.values().stream()
-        .filter(gossipState -> period > gossipState.infectionPeriod() + periodsToSweep)
-        .map(gossipState -> gossipState.gossip().gossipId())
-        .collect(Collectors.toSet());
-  }
+  private static final class ByteCountingOutputStream extends OutputStream {
 
-  private Set<String> getGossipsThatMostLikelyDisseminated(long period) {
-    // Select gossips to spread
-    int periodsToSpread =
-        ClusterMath.gossipPeriodsToSpread(config.gossipRepeatMult(), remoteMembers.size() + 1);
-    return gossips.values().stream()
-        .filter(gossipState -> period > gossipState.infectionPeriod() + periodsToSpread)
-        .map(gossipState -> gossipState.gossip().gossipId())
-        .collect(Collectors.toSet());
+    private int count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+
+    int count() {
+      return count;
+    }
   }
 
   /**
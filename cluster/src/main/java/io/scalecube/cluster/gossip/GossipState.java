@@ -1,8 +1,7 @@
 package io.scalecube.cluster.gossip;
 
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.Objects;
-import java.util.Set;
 import java.util.StringJoiner;
 
 /** Data related to gossip, maintained locally on each node. */
@@ -14,8 +13,11 @@ final class GossipState {
   /** Local gossip period when gossip was received for the first time. */
   private final long infectionPeriod;
 
-  /** Set of member IDs this gossip was received from. */
-  private final Set<String> infected = new HashSet<>();
+  /** Slots of members this gossip was received from or piggybacked to, see MemberSlots. */
+  private final BitSet infected = new BitSet();
+
+  /** Estimated size in bytes of encoded gossip, negative if not estimated yet. */
+  private int estimatedSize = -1;
 
   GossipState(Gossip gossip, long infectionPeriod) {
     this.gossip = Objects.requireNonNull(gossip);
@@ -30,12 +32,24 @@ public long infectionPeriod() {
     return infectionPeriod;
   }
 
-  public void addToInfected(String memberId) {
-    infected.add(memberId);
+  public void addToInfected(int memberSlot) {
+    infected.set(memberSlot);
+  }
+
+  public void removeFromInfected(int memberSlot) {
+    infected.clear(memberSlot);
+  }
+
+  public boolean isInfected(int memberSlot) {
+    return infected.get(memberSlot);
+  }
+
+  public int estimatedSize() {
+    return estimatedSize;
   }
 
-  public boolean isInfected(String memberId) {
-    return infected.contains(memberId);
+  public void estimatedSize(int estimatedSize) {
+    this.estimatedSize = estimatedSize;
   }
 
   @Override
@@ -0,0 +1,63 @@
+package io.scalecube.cluster.gossip;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps member ids to dense local slots, so that per gossip data about members can be kept in bit
+ * sets. Slot of removed member is reused by members which come later, lowest free slot first.
+ *
+ * <p>Not thread safe, supposed to be used from gossip protocol scheduler.
+ */
+final class MemberSlots {
+
+  private final Map<String, Integer> slots = new HashMap<>();
+  private final BitSet usedSlots = new BitSet();
+
+  /**
+   * Returns slot of given member, assigns one if member has no slot yet.
+   *
+   * @param memberId member id
+   * @return slot
+   */
+  int slot(String memberId) {
+    Integer slot = slots.get(memberId);
+    if (slot == null) {
+      slot = usedSlots.nextClearBit(0);
+      usedSlots.set(slot);
+      slots.put(memberId, slot);
+    }
+    return slot;
+  }
+
+  /**
+   * Returns slot of given member, never assigns one.
+   *
+   * @param memberId member id
+   * @return slot, or -1 if member has no slot
+   */
+  int find(String memberId) {
+    Integer slot = slots.get(memberId);
+    return slot != null ? slot : -1;
+  }
+
+  /**
+   * Releases slot of given member.
+   *
+   * @param memberId member id
+   * @return released slot, or -1 if member had no slot
+   */
+  int release(String memberId) {
+    Integer slot = slots.remove(memberId);
+    if (slot == null) {
+      return -1;
+    }
+    usedSlots.clear(slot);
+    return slot;
+  }
+
+  int size() {
+    return slots.size();
+  }
+}
@@ -0,0 +1,139 @@
+package io.scalecube.cluster.gossip;
+
+/**
+ * Sequence ids of gossips received from one gossiper, kept in bounded memory. All ids below low
+ * watermark are considered received, ids in fixed size window above watermark are kept in a
+ * bitmap. Received id which doesn't fit into the window slides it forward, ids left behind which
+ * were never received are counted as missed and are rejected if they come later. Window starts
+ * right below the first received id, since gossiper may have spread gossips long before.
+ *
+ * <p>Replaces {@code SequenceIdCollector}, whose list of id intervals grew with every gap and had
+ * to be cleared wholesale, after which old gossips were accepted again.
+ *
+ * <p>Not thread safe, supposed to be used from gossip protocol scheduler.
+ */
+final class SequenceIdWindow {
+
+  // bit of id is at position (id mod window size), for ids in [watermark, watermark + size)
+  private final long[] bitmap;
+  private final int size;
+
+  private boolean started;
+  private long firstId; // ids below it aren't counted as missed
+  private long watermark;
+  private long missed;
+
+  /**
+   * Constructor.
+   *
+   * @param size min size of window (is rounded up to multiple of 64)
+   */
+  SequenceIdWindow(int size) {
+    this.bitmap = new long[Math.max((size + Long.SIZE - 1) / Long.SIZE, 1)];
+    this.size = bitmap.length * Long.SIZE;
+  }
+
+  /**
+   * Returns true if given id was received.
+   *
+   * @param sequenceId sequence id
+   * @return true if given id was received
+   */
+  boolean contains(long sequenceId) {
+    return sequenceId < watermark || sequenceId < watermark + size && isSet(sequenceId);
+  }
+
+  /**
+   * Adds given id if it was not received yet.
+   *
+   * @param sequenceId sequence id
+   * @return true if given id was not received yet
+   */
+  boolean add(long sequenceId) {
+    if (!started) {
+      started = true;
+      firstId = sequenceId;
+      watermark = Math.max(sequenceId - size + 1, 0);
+    }
+    if (sequenceId < watermark) {
+      return false;
+    }
+    if (sequenceId == watermark) {
+      // Fast path: ids mostly go in a row
+      watermark++;
+      advance();
+      return true;
+    }
+    if (sequenceId - watermark >= size) {
+      slide(sequenceId - size + 1);
+      if (sequenceId == watermark) {
+        watermark++;
+        advance();
+        return true;
+      }
+    }
+    if (isSet(sequenceId)) {
+      return false;
+    }
+    bitmap[index(sequenceId)] |= mask(sequenceId);
+    return true;
+  }
+
+  /**
+   * Returns number of ids given up on since previous call of this method.
+   *
+   * @return number of missed ids
+   */
+  long takeMissed() {
+    long result = missed;
+    missed = 0;
+    return result;
+  }
+
+  long watermark() {
+    return watermark;
+  }
+
+  // Moves watermark to given id, clearing bits left behind and counting missing ones
+  private void slide(long toId) {
+    long windowEnd = Math.min(toId, watermark + size);
+    for (; watermark < windowEnd; watermark++) {
+      if (isSet(watermark)) {
+        bitmap[index(watermark)] &= ~mask(watermark);
+      } else if (watermark >= firstId) {
+        missed++;
+      }
+    }
+    // Ids beyond the window were never received
+    missed += toId - watermark;
+    watermark = toId;
+    advance();
+  }
+
+  // Moves watermark over ids received ahead of it
+  private void advance() {
+    while (isSet(watermark)) {
+      int index = index(watermark);
+      if (bitmap[index] == -1L && (watermark & (Long.SIZE - 1)) == 0) {
+        // Whole word at once
+        bitmap[index] = 0;
+        watermark += Long.SIZE;
+      } else {
+        bitmap[index] &= ~mask(watermark);
+        watermark++;
+      }
+    }
+  }
+
+  private boolean isSet(long sequenceId) {
+    return (bitmap[index(sequenceId)] & mask(sequenceId)) != 0;
+  }
+
+  private int index(long sequenceId) {
+    return (int) (Math.floorMod(sequenceId, (long) size) >>> 6);
+  }
+
+  private static long mask(long sequenceId) {
+    return 1L << sequenceId; // shift distance is taken mod 64
+  }
+}
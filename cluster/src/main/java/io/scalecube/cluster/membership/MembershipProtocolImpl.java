@@ -24,6 +24,7 @@
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -68,6 +69,7 @@ private enum MembershipUpdateReason {
 
   public static final String SYNC = "sc/membership/sync";
   public static final String SYNC_ACK = "sc/membership/syncAck";
+  public static final String SYNC_DIGEST = "sc/membership/syncDigest";
   public static final String MEMBERSHIP_GOSSIP = "sc/membership/gossip";
 
   private final Member localMember;
@@ -90,6 +92,7 @@ private enum MembershipUpdateReason {
   private final Map<String, Member> members = new HashMap<>();
   private final List<MembershipEvent> removedMembersHistory = new CopyOnWriteArrayList<>();
   private final Set<String> aliveEmittedSet = new HashSet<>();
+  private final Map<String, SyncPages> syncPages = new HashMap<>(); // by sender and cid
 
   // Subject
 
@@ -151,8 +154,11 @@ public MembershipProtocolImpl(
 
     actionsDisposables.addAll(
         Arrays.asList(
-            transport
-                .listen() // Listen to incoming SYNC and SYNC ACK requests from other members
+            Flux.merge(
+                    // Listen to incoming SYNC, SYNC ACK and SYNC DIGEST requests from other members
+                    transport.listen(SYNC),
+                    transport.listen(SYNC_ACK),
+                    transport.listen(SYNC_DIGEST))
                 .publishOn(scheduler)
                 .subscribe(this::onMessage, this::onError),
             failureDetector
@@ -267,19 +273,10 @@ private void start0(MonoSink<Object> sink) {
     LOGGER.info("[{}] Making initial Sync to all seed members: {}", localMember, seedMembers);
 
     //noinspection unchecked
-    Mono<Message>[] syncs =
-        seedMembers.stream()
-            .map(
-                address ->
-                    transport
-                        .requestResponse(address, prepareSyncDataMsg(SYNC, cidGenerator.nextCid()))
-                        .doOnError(this::onSyncError)
-                        .onErrorResume(Exception.class, e -> Mono.empty()))
-            .toArray(Mono[]::new);
-
-    // Process initial SyncAck
+    Flux<Message>[] syncs = seedMembers.stream().map(this::initialSync).toArray(Flux[]::new);
+
+    // Process initial SyncAck pages
     Flux.mergeDelayError(syncs.length, syncs)
-        .take(syncs.length)
         .timeout(Duration.ofMillis(membershipConfig.syncTimeout()), scheduler)
         .publishOn(scheduler)
         .flatMap(message -> onSyncAck(message, true))
@@ -291,6 +288,26 @@ private void start0(MonoSink<Object> sink) {
         .subscribe(null, this::onSyncAckError);
   }
 
+  /**
+   * Sends Sync to given seed member and receives its SyncAck pages, till the last one.
+   *
+   * @param address seed member address
+   * @return SyncAck pages
+   */
+  private Flux<Message> initialSync(Address address) {
+    String cid = cidGenerator.nextCid();
+    Flux<Message> syncAcks =
+        transport
+            .listen(SYNC_ACK)
+            .filter(message -> cid.equals(message.correlationId()))
+            .takeUntil(message -> message.<SyncData>data().isLastPage());
+    Mono<Message> sync = Mono.defer(() -> sendSyncData(address, SYNC, cid)).then(Mono.empty());
+    // Subscribe to SyncAck before sending Sync
+    return Flux.merge(syncAcks, sync)
+        .doOnError(this::onSyncError)
+        .onErrorResume(Exception.class, e -> Flux.empty());
+  }
+
   @Override
   public void stop() {
     // Stop accepting requests, events and sending sync
@@ -306,6 +323,10 @@ public void stop() {
     }
     suspicionTimeoutTasks.clear();
 
+    // Forget pages of incoming syncs
+    syncPages.values().forEach(pages -> pages.timeoutTask.dispose());
+    syncPages.clear();
+
     // Stop publishing events
     sink.complete();
   }
@@ -343,15 +364,17 @@ private void doSync() {
       return;
     }
 
-    Message message = prepareSyncDataMsg(SYNC, null);
-    LOGGER.debug("[{}][doSync] Send Sync to {}", localMember, address);
+    // Only digest is sent, differing records are exchanged by SYNC/SYNC_ACK limited to them
+    SyncDigest digest = SyncDigest.of(membershipTable.values());
+    Message message = Message.withData(digest).qualifier(SYNC_DIGEST).build();
+    LOGGER.debug("[{}][doSync] Send SyncDigest to {}", localMember, address);
     transport
         .send(address, message)
         .subscribe(
             null,
             ex ->
                 LOGGER.debug(
-                    "[{}][doSync] Failed to send Sync to {}, cause: {}",
+                    "[{}][doSync] Failed to send SyncDigest to {}, cause: {}",
                     localMember,
                     address,
                     ex.toString()));
@@ -362,12 +385,26 @@ private void doSync() {
   // ================================================
 
   private void onMessage(Message message) {
+    try {
+      message.data();
+    } catch (IllegalStateException e) {
+      // Malformed message is dropped rather than fails listener (and so cancels subscription)
+      LOGGER.warn(
+          "[{}] Dropped malformed {} from {}, cause: {}",
+          localMember,
+          message.qualifier(),
+          message.sender(),
+          String.valueOf(e.getCause()));
+      return;
+    }
     if (isSync(message)) {
       onSync(message).subscribe(null, this::onError);
     } else if (isSyncAck(message)) {
       if (message.correlationId() == null) { // filter out initial sync
         onSyncAck(message, false).subscribe(null, this::onError);
       }
+    } else if (isSyncDigest(message)) {
+      onSyncDigest(message);
     }
   }
 
@@ -379,6 +416,10 @@ private boolean isSyncAck(Message message) {
     return SYNC_ACK.equals(message.qualifier());
   }
 
+  private boolean isSyncDigest(Message message) {
+    return SYNC_DIGEST.equals(message.qualifier());
+  }
+
   // ================================================
   // ============== Event Listeners =================
   // ================================================
@@ -386,23 +427,51 @@ private boolean isSyncAck(Message message) {
   private Mono<Void> onSyncAck(Message syncAckMsg, boolean onStart) {
     return Mono.defer(
         () -> {
-          LOGGER.debug("[{}] Received SyncAck from {}", localMember, syncAckMsg.sender());
-          return syncMembership(syncAckMsg.data(), onStart);
+          SyncData syncData = syncAckMsg.data();
+          LOGGER.debug(
+              "[{}] Received SyncAck from {} (page {} of {})",
+              localMember,
+              syncAckMsg.sender(),
+              syncData.page() + 1,
+              syncData.pageCount());
+          return syncMembership(syncData, onStart);
         });
   }
 
-  /** Merges incoming SYNC data, merges it and sending back merged data with SYNC_ACK. */
+  /**
+   * Merges incoming SYNC data page by page, once all pages are received and merged sends back
+   * merged data with SYNC_ACK.
+   */
   private Mono<Void> onSync(Message syncMsg) {
     return Mono.defer(
         () -> {
           final Address sender = syncMsg.sender();
-          LOGGER.debug("[{}] Received Sync from {}", localMember, sender);
-          return syncMembership(syncMsg.data(), false)
+          final SyncData syncData = syncMsg.data();
+          LOGGER.debug(
+              "[{}] Received Sync from {} (page {} of {})",
+              localMember,
+              sender,
+              syncData.page() + 1,
+              syncData.pageCount());
+          final String key = sender + "/" + syncMsg.correlationId();
+          final SyncPages pages = receiveSyncPage(key, sender, syncData);
+          if (pages == null) {
+            return Mono.empty();
+          }
+          return syncMembership(syncData, false)
               .doOnSuccess(
                   avoid -> {
-                    Message message = prepareSyncDataMsg(SYNC_ACK, syncMsg.correlationId());
-                    transport
-                        .send(sender, message)
+                    pages.mergedPages++;
+                    if (!pages.isMerged() || syncPages.get(key) != pages) {
+                      return;
+                    }
+                    syncPages.remove(key).timeoutTask.dispose();
+                    sendSyncData(
+                            sender,
+                            SYNC_ACK,
+                            syncMsg.correlationId(),
+                            syncData.bucketCount(),
+                            syncData.buckets())
                         .subscribe(
                             null,
                             ex ->
@@ -415,6 +484,103 @@ private Mono<Void> onSync(Message syncMsg) {
         });
   }
 
+  /**
+   * Registers received page of SYNC from given sender.
+   *
+   * @param key sender and correlation id of SYNC
+   * @param sender sender address
+   * @param syncData received page
+   * @return pages of SYNC the given page belongs to, or null if page should be dropped
+   */
+  private SyncPages receiveSyncPage(String key, Address sender, SyncData syncData) {
+    final int page = syncData.page();
+    final int pageCount = syncData.pageCount();
+    SyncPages pages = syncPages.get(key);
+    if (page == 0) {
+      if (pages != null) {
+        LOGGER.warn(
+            "[{}] Received new Sync from {} before previous one was complete, "
+                + "pages received: {} of {}",
+            localMember,
+            sender,
+            pages.receivedPages.cardinality(),
+            pages.pageCount);
+        pages.timeoutTask.dispose();
+      }
+      pages = new SyncPages(pageCount, scheduleSyncPagesTimeout(key, sender));
+      syncPages.put(key, pages);
+    }
+    if (pages == null || page < 0 || page >= pages.pageCount || pages.receivedPages.get(page)) {
+      LOGGER.warn(
+          "[{}] Dropped unexpected Sync page {} of {} from {}",
+          localMember,
+          page + 1,
+          pageCount,
+          sender);
+      return null;
+    }
+    pages.receivedPages.set(page);
+    if (page == pages.pageCount - 1) {
+      pages.lastPageReceived = true;
+      if (pages.receivedPages.cardinality() < pages.pageCount) {
+        // SyncAck is still sent once received pages are merged, missed records come with next sync
+        LOGGER.warn(
+            "[{}] Missed Sync pages from {}, pages received: {} of {}",
+            localMember,
+            sender,
+            pages.receivedPages.cardinality(),
+            pages.pageCount);
+      }
+    }
+    return pages;
+  }
+
+  private Disposable scheduleSyncPagesTimeout(String key, Address sender) {
+    return scheduler.schedule(
+        () -> {
+          SyncPages pages = syncPages.remove(key);
+          if (pages != null) {
+            LOGGER.warn(
+                "[{}] Sync from {} timed out, pages received: {} of {}",
+                localMember,
+                sender,
+                pages.receivedPages.cardinality(),
+                pages.pageCount);
+          }
+        },
+        membershipConfig.syncTimeout(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Compares incoming SYNC_DIGEST with local membership table, sends SYNC with local records of
+   * differing buckets, if any. The other side merges them and answers with its records of the same
+   * buckets.
+   */
+  private void onSyncDigest(Message digestMsg) {
+    final Address sender = digestMsg.sender();
+    final SyncDigest digest = digestMsg.data();
+    final BitSet buckets = digest.diff(membershipTable.values());
+    LOGGER.debug(
+        "[{}] Received SyncDigest from {}, buckets differ: {} of {}",
+        localMember,
+        sender,
+        buckets.cardinality(),
+        digest.bucketCount());
+    if (buckets.isEmpty()) {
+      return;
+    }
+    sendSyncData(sender, SYNC, null, digest.bucketCount(), buckets)
+        .subscribe(
+            null,
+            ex ->
+                LOGGER.debug(
+                    "[{}] Failed to send Sync to {}, cause: {}",
+                    localMember,
+                    sender,
+                    ex.toString()));
+  }
+
   /** Merges FD updates and processes them. */
   private void onFailureDetectorEvent(FailureDetectorEvent fdEvent) {
     MembershipRecord r0 = membershipTable.get(fdEvent.member().id());
@@ -429,10 +595,8 @@ private void onFailureDetectorEvent(FailureDetectorEvent fdEvent) {
       // TODO: Consider to make more elegant solution
       // Alive won't override SUSPECT so issue instead extra sync with member to force it spread
       // alive with inc + 1
-      Message syncMsg = prepareSyncDataMsg(SYNC, null);
       Address address = fdEvent.member().address();
-      transport
-          .send(address, syncMsg)
+      sendSyncData(address, SYNC, null)
           .subscribe(
               null,
               ex ->
@@ -483,10 +647,55 @@ private void schedulePeriodicSync() {
             this::doSync, syncInterval, syncInterval, TimeUnit.MILLISECONDS));
   }
 
-  private Message prepareSyncDataMsg(String qualifier, String cid) {
-    List<MembershipRecord> membershipRecords = new ArrayList<>(membershipTable.values());
-    SyncData syncData = new SyncData(membershipRecords);
-    return Message.withData(syncData).qualifier(qualifier).correlationId(cid).build();
+  /**
+   * Sends membership table to given address in pages of at most {@link
+   * MembershipConfig#syncPageSize()} records. Pages are sent one after another, each next one once
+   * previous one is written, so neither single message nor encoding of it grows with cluster size.
+   *
+   * @param address recipient address
+   * @param qualifier SYNC or SYNC_ACK
+   * @param cid correlation id (optional)
+   * @return mono completing once all pages are sent
+   */
+  private Mono<Void> sendSyncData(Address address, String qualifier, String cid) {
+    return sendSyncData(address, qualifier, cid, 0, null);
+  }
+
+  /**
+   * Sends part of membership table which falls into given buckets of {@link SyncDigest}, the same
+   * way as {@link #sendSyncData(Address, String, String)} sends the whole table.
+   *
+   * @param address recipient address
+   * @param qualifier SYNC or SYNC_ACK
+   * @param cid correlation id (optional)
+   * @param bucketCount number of buckets
+   * @param buckets buckets to send records of, or null to send all records
+   * @return mono completing once all pages are sent
+   */
+  private Mono<Void> sendSyncData(
+      Address address, String qualifier, String cid, int bucketCount, BitSet buckets) {
+    // Snapshot of records, pages are built from it lazily
+    List<MembershipRecord> membershipRecords = new ArrayList<>(membershipTable.size());
+    for (MembershipRecord record : membershipTable.values()) {
+      if (buckets == null || buckets.get(SyncDigest.bucket(record.member().id(), bucketCount))) {
+        membershipRecords.add(record);
+      }
+    }
+    int pageSize = Math.max(membershipConfig.syncPageSize(), 1);
+    int pageCount = Math.max((membershipRecords.size() + pageSize - 1) / pageSize, 1);
+    return Flux.range(0, pageCount)
+        .concatMap(
+            page -> {
+              int from = page * pageSize;
+              int to = Math.min(from + pageSize, membershipRecords.size());
+              SyncData syncData =
+                  new SyncData(
+                      membershipRecords.subList(from, to), page, pageCount, bucketCount, buckets);
+              Message message =
+                  Message.withData(syncData).qualifier(qualifier).correlationId(cid).build();
+              return transport.send(address, message);
+            })
+        .then();
   }
 
   private Mono<Void> syncMembership(SyncData syncData, boolean onStart) {
@@ -942,4 +1151,27 @@ private void onMemberRemoved(MembershipEvent event) {
       removedMembersHistory.remove(0);
     }
   }
+
+  /**
+   * Pages of SYNC received from one sender with one correlation id. SYNC_ACK is sent once the last
+   * page is received and all pages received by then are merged.
+   */
+  private static final class SyncPages {
+
+    private final int pageCount;
+    private final Disposable timeoutTask;
+    private final BitSet receivedPages = new BitSet();
+    private int mergedPages;
+    private boolean lastPageReceived;
+
+    private SyncPages(int pageCount, Disposable timeoutTask) {
+      this.pageCount = pageCount;
+      this.timeoutTask = timeoutTask;
+    }
+
+    private boolean isMerged() {
+      int received = receivedPages.cardinality();
+      return lastPageReceived && mergedPages == received;
+    }
+  }
 }
@@ -1,10 +1,13 @@
 package io.scalecube.cluster.membership;
 
+import java.io.EOFException;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -12,27 +15,86 @@
 import java.util.StringJoiner;
 
 /**
- * A class containing full membership table from specific member and used full synchronization
- * between cluster members.
+ * A class containing page of membership table from specific member and used full synchronization
+ * between cluster members. Membership table is split into pages of bounded size sent one after
+ * another, so that big table neither takes single huge frame nor holds event loop while encoding.
+ *
+ * <p>Table may be limited to buckets which were found different by {@link SyncDigest}, then the
+ * answer should be limited to the same buckets.
  */
 final class SyncData implements Externalizable {
 
   private static final long serialVersionUID = 1L;
 
-  /** Full cluster membership table. */
+  /** Page of cluster membership table. */
   private List<MembershipRecord> membership;
 
+  /** Index of the page, starting from 0. */
+  private int page;
+
+  /** Total number of pages in membership table. */
+  private int pageCount;
+
+  /** Number of digest buckets, 0 if membership table is not limited to buckets. */
+  private int bucketCount;
+
+  /** Buckets membership table is limited to, as words of bit set. */
+  private long[] buckets;
+
   public SyncData() {}
 
-  public SyncData(Collection<MembershipRecord> membership) {
+  /**
+   * Constructor.
+   *
+   * @param membership page of membership table
+   * @param page index of the page
+   * @param pageCount total number of pages
+   * @param bucketCount number of buckets, 0 if membership table is not limited to buckets
+   * @param buckets buckets membership table is limited to (optional)
+   */
+  public SyncData(
+      Collection<MembershipRecord> membership,
+      int page,
+      int pageCount,
+      int bucketCount,
+      BitSet buckets) {
     Objects.requireNonNull(membership);
     this.membership = Collections.unmodifiableList(new ArrayList<>(membership));
+    this.page = page;
+    this.pageCount = pageCount;
+    this.bucketCount = buckets != null ? bucketCount : 0;
+    this.buckets = buckets != null ? buckets.toLongArray() : null;
   }
 
   public Collection<MembershipRecord> getMembership() {
     return membership;
   }
 
+  public int page() {
+    return page;
+  }
+
+  public int pageCount() {
+    return pageCount;
+  }
+
+  public boolean isLastPage() {
+    return page >= pageCount - 1;
+  }
+
+  public int bucketCount() {
+    return bucketCount;
+  }
+
+  /**
+   * Returns buckets of {@link SyncDigest} membership table is limited to.
+   *
+   * @return buckets, or null if membership table is not limited to buckets
+   */
+  public BitSet buckets() {
+    return bucketCount > 0 && buckets != null ? BitSet.valueOf(buckets) : null;
+  }
+
   @Override
   public void writeExternal(ObjectOutput out) throws IOException {
     // membership
@@ -40,23 +102,75 @@ public void writeExternal(ObjectOutput out) throws IOException {
     for (MembershipRecord record : membership) {
       out.writeObject(record);
     }
+    // page
+    out.writeInt(page);
+    out.writeInt(pageCount);
+    // buckets
+    out.writeInt(bucketCount);
+    if (bucketCount > 0) {
+      out.writeInt(buckets.length);
+      for (long word : buckets) {
+        out.writeLong(word);
+      }
+    }
   }
 
   @Override
   public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
     // membership
     int membershipSize = in.readInt();
+    if (membershipSize < 0) {
+      throw new StreamCorruptedException("Invalid membership size: " + membershipSize);
+    }
     List<MembershipRecord> membership = new ArrayList<>(membershipSize);
     for (int i = 0; i < membershipSize; i++) {
       membership.add((MembershipRecord) in.readObject());
     }
     this.membership = Collections.unmodifiableList(membership);
+    // page
+    if (!readPage(in)) {
+      // Member of former version sends whole table at once, not limited to buckets
+      this.page = 0;
+      this.pageCount = 1;
+      this.bucketCount = 0;
+      return;
+    }
+    // buckets (bounded, so that corrupted SYNC doesn't make huge allocation)
+    this.bucketCount = in.readInt();
+    if (bucketCount < 0 || bucketCount > SyncDigest.MAX_BUCKET_COUNT) {
+      throw new StreamCorruptedException("Invalid bucket count: " + bucketCount);
+    }
+    if (bucketCount > 0) {
+      int wordCount = in.readInt();
+      if (wordCount < 0 || wordCount > (bucketCount + Long.SIZE - 1) / Long.SIZE) {
+        throw new StreamCorruptedException("Invalid buckets size: " + wordCount);
+      }
+      long[] buckets = new long[wordCount];
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = in.readLong();
+      }
+      this.buckets = buckets;
+    }
+  }
+
+  // End of data means that page and buckets weren't written, see readExternal
+  private boolean readPage(ObjectInput in) throws IOException {
+    try {
+      this.page = in.readInt();
+    } catch (EOFException e) {
+      return false;
+    }
+    this.pageCount = in.readInt();
+    return true;
   }
 
   @Override
   public String toString() {
     return new StringJoiner(", ", SyncData.class.getSimpleName() + "[", "]")
         .add("membership=" + membership)
+        .add("page=" + page)
+        .add("pageCount=" + pageCount)
+        .add("bucketCount=" + bucketCount)
         .toString();
   }
 }
@@ -0,0 +1,140 @@
+package io.scalecube.cluster.membership;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.StringJoiner;
+
+/**
+ * A class containing compact summary of membership table from specific member and used to find out
+ * which part of the table differs between cluster members before synchronizing it. Members are
+ * spread over buckets by member id, each bucket is summarized by a sum of hashes of (member id,
+ * status, incarnation) of its records, so equal buckets are not transferred at all.
+ */
+final class SyncDigest implements Externalizable {
+
+  private static final long serialVersionUID = 1L;
+
+  /** Average number of membership records in one bucket. */
+  static final int RECORDS_PER_BUCKET = 8;
+
+  /** Max number of buckets, bounds size of digest in big clusters. */
+  static final int MAX_BUCKET_COUNT = 4096;
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  /** Digest of every bucket. */
+  private long[] digests;
+
+  public SyncDigest() {}
+
+  private SyncDigest(long[] digests) {
+    this.digests = digests;
+  }
+
+  /**
+   * Creates digest of given membership table, number of buckets is chosen by table size.
+   *
+   * @param membership membership table
+   * @return digest
+   */
+  static SyncDigest of(Collection<MembershipRecord> membership) {
+    int bucketCount =
+        Math.min(
+            Math.max((membership.size() + RECORDS_PER_BUCKET - 1) / RECORDS_PER_BUCKET, 1),
+            MAX_BUCKET_COUNT);
+    return new SyncDigest(digests(membership, bucketCount));
+  }
+
+  /**
+   * Returns bucket of given member.
+   *
+   * @param memberId member id
+   * @param bucketCount number of buckets
+   * @return bucket index
+   */
+  static int bucket(String memberId, int bucketCount) {
+    return Math.floorMod(memberId.hashCode(), bucketCount);
+  }
+
+  public int bucketCount() {
+    return digests.length;
+  }
+
+  /**
+   * Compares this digest with digest of given membership table.
+   *
+   * @param membership membership table
+   * @return buckets which differ
+   */
+  BitSet diff(Collection<MembershipRecord> membership) {
+    long[] localDigests = digests(membership, digests.length);
+    BitSet buckets = new BitSet(digests.length);
+    for (int i = 0; i < digests.length; i++) {
+      if (digests[i] != localDigests[i]) {
+        buckets.set(i);
+      }
+    }
+    return buckets;
+  }
+
+  private static long[] digests(Collection<MembershipRecord> membership, int bucketCount) {
+    long[] digests = new long[bucketCount];
+    for (MembershipRecord record : membership) {
+      // Sum doesn't depend on order of records
+      digests[bucket(record.member().id(), bucketCount)] += hash(record);
+    }
+    return digests;
+  }
+
+  private static long hash(MembershipRecord record) {
+    long hash = FNV_OFFSET_BASIS;
+    hash = hash(hash, record.member().id());
+    hash = hash(hash, record.status().name());
+    hash = (hash ^ record.incarnation()) * FNV_PRIME;
+    return hash;
+  }
+
+  private static long hash(long hash, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+    }
+    // Separates adjacent strings
+    return (hash ^ value.length()) * FNV_PRIME;
+  }
+
+  @Override
+  public void writeExternal(ObjectOutput out) throws IOException {
+    // digests
+    out.writeInt(digests.length);
+    for (long digest : digests) {
+      out.writeLong(digest);
+    }
+  }
+
+  @Override
+  public void readExternal(ObjectInput in) throws IOException {
+    // digests
+    int bucketCount = in.readInt();
+    if (bucketCount < 1 || bucketCount > MAX_BUCKET_COUNT) {
+      throw new StreamCorruptedException("Invalid bucket count: " + bucketCount);
+    }
+    long[] digests = new long[bucketCount];
+    for (int i = 0; i < bucketCount; i++) {
+      digests[i] = in.readLong();
+    }
+    this.digests = digests;
+  }
+
+  @Override
+  public String toString() {
+    return new StringJoiner(", ", SyncDigest.class.getSimpleName() + "[", "]")
+        .add("bucketCount=" + digests.length)
+        .toString();
+  }
+}
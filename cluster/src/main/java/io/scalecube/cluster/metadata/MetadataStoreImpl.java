@@ -80,7 +80,10 @@ public void start() {
     // Subscribe
     actionsDisposables.add(
         // Listen to incoming get_metadata requests from other members
-        transport.listen().publishOn(scheduler).subscribe(this::onMessage, this::onError));
+        transport
+            .listen(GET_METADATA_REQ)
+            .publishOn(scheduler)
+            .subscribe(this::onMetadataRequest, this::onError));
   }
 
   @Override
@@ -188,12 +191,6 @@ public Mono<ByteBuffer> fetchMetadata(Member member) {
   // ============== Event Listeners =================
   // ================================================
 
-  private void onMessage(Message message) {
-    if (GET_METADATA_REQ.equals(message.qualifier())) {
-      onMetadataRequest(message);
-    }
-  }
-
   private void onError(Throwable throwable) {
     LOGGER.error("[{}] Received unexpected error:", localMember, throwable);
   }
@@ -202,7 +199,18 @@ private void onMetadataRequest(Message message) {
     final Address sender = message.sender();
     LOGGER.debug("[{}] Received GetMetadataReq from {}", localMember, sender);
 
-    GetMetadataRequest reqData = message.data();
+    GetMetadataRequest reqData;
+    try {
+      reqData = message.data();
+    } catch (IllegalStateException e) {
+      // Malformed message is dropped rather than fails listener (and so cancels subscription)
+      LOGGER.warn(
+          "[{}] Dropped malformed GetMetadataReq from {}, cause: {}",
+          localMember,
+          sender,
+          String.valueOf(e.getCause()));
+      return;
+    }
     Member targetMember = reqData.getMember();
 
     // Validate target member
@@ -4,13 +4,31 @@
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.scalecube.cluster.codec.binary.BinaryMessageCodec;
+import io.scalecube.cluster.fdetector.FailureDetectorImpl;
+import io.scalecube.cluster.gossip.GossipProtocolImpl;
 import io.scalecube.cluster.membership.MembershipEvent;
 import io.scalecube.cluster.membership.MembershipEvent.Type;
+import io.scalecube.cluster.membership.MembershipProtocolImpl;
 import io.scalecube.cluster.metadata.MetadataCodec;
+import io.scalecube.cluster.metadata.MetadataStoreImpl;
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.cluster.transport.api.Transport;
+import io.scalecube.cluster.transport.api.TransportConfig;
+import io.scalecube.cluster.transport.api.TransportFactory;
 import io.scalecube.net.Address;
+import io.scalecube.transport.netty.TransportImpl;
+import io.scalecube.transport.netty.tcp.TcpTransportFactory;
+import io.scalecube.transport.netty.udp.UdpTransportFactory;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.StreamCorruptedException;
 import java.net.InetAddress;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -19,6 +37,7 @@
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -97,6 +116,236 @@ public void testMembersAccessFromScheduler() {
     assertEquals(seedNode.member(), seedNodeOnOtherNode.orElse(null));
   }
 
+  @Test
+  public void testMembersOverDatagramTransport() throws Exception {
+    RecordingTransportFactory seedTransport = new RecordingTransportFactory(udp());
+    RecordingTransportFactory otherTransport = new RecordingTransportFactory(udp());
+    Cluster seedNode =
+        new ClusterImpl()
+            .failureDetector(opts -> opts.pingInterval(100))
+            .transport(opts -> opts.datagramTransport(true).transportFactory(seedTransport))
+            .startAwait();
+    Cluster otherNode =
+        new ClusterImpl()
+            .membership(opts -> opts.seedMembers(seedNode.address()))
+            .failureDetector(opts -> opts.pingInterval(100))
+            .transport(opts -> opts.datagramTransport(true).transportFactory(otherTransport))
+            .startAwait();
+
+    try {
+      // Failure detector keeps members alive over datagrams
+      TimeUnit.SECONDS.sleep(2);
+
+      assertEquals(2, seedNode.members().size());
+      assertEquals(2, otherNode.members().size());
+      // Pings and acks every 100ms in both directions
+      assertTrue(seedTransport.transport().totalDatagramCount() > 10);
+      assertTrue(otherTransport.transport().totalDatagramCount() > 10);
+    } finally {
+      shutdown(Arrays.asList(seedNode, otherNode));
+    }
+  }
+
+  @Test
+  public void testGossipsOverDatagramTransport() throws Exception {
+    int count = 30;
+    CountDownLatch received = new CountDownLatch(count);
+
+    RecordingTransportFactory seedTransport = new RecordingTransportFactory(udp());
+    Cluster seedNode =
+        new ClusterImpl()
+            .transport(opts -> opts.datagramTransport(true).transportFactory(seedTransport))
+            .startAwait();
+    Cluster otherNode =
+        new ClusterImpl()
+            .membership(opts -> opts.seedMembers(seedNode.address()))
+            .transport(opts -> opts.datagramTransport(true))
+            .handler(
+                cluster ->
+                    new ClusterMessageHandler() {
+                      @Override
+                      public void onGossip(Message gossip) {
+                        received.countDown();
+                      }
+                    })
+            .startAwait();
+
+    try {
+      char[] chars = new char[200];
+      Arrays.fill(chars, 'x');
+      for (int i = 0; i < count; i++) {
+        seedNode.spreadGossip(Message.withData(i + new String(chars)).build()).subscribe();
+      }
+
+      assertTrue(received.await(TIMEOUT.getSeconds(), TimeUnit.SECONDS));
+      // Gossip requests are batched so that they fit into datagrams
+      assertTrue(seedTransport.transport().totalDatagramCount() > 0);
+      assertEquals(0, seedTransport.transport().totalDatagramFallbackCount());
+    } finally {
+      shutdown(Arrays.asList(seedNode, otherNode));
+    }
+  }
+
+  @Test
+  public void testMembersWithEagerConnect() throws Exception {
+    // Pings are off, so connections for them are only dialed eagerly once member is added
+    RecordingTransportFactory seedTransport = new RecordingTransportFactory(tcp());
+    RecordingTransportFactory otherTransport = new RecordingTransportFactory(tcp());
+    Cluster seedNode =
+        new ClusterImpl()
+            .failureDetector(opts -> opts.pingInterval(60_000))
+            .transport(
+                opts ->
+                    opts.eagerConnect(true)
+                        .keepAliveInterval(100)
+                        .systemPriorityLane(true)
+                        .transportFactory(seedTransport))
+            .startAwait();
+    Cluster otherNode =
+        new ClusterImpl()
+            .membership(opts -> opts.seedMembers(seedNode.address()))
+            .failureDetector(opts -> opts.pingInterval(60_000))
+            .transport(
+                opts ->
+                    opts.eagerConnect(true)
+                        .keepAliveInterval(100)
+                        .systemPriorityLane(true)
+                        .transportFactory(otherTransport))
+            .startAwait();
+
+    try {
+      TimeUnit.SECONDS.sleep(2);
+
+      assertEquals(2, seedNode.members().size());
+      assertEquals(2, otherNode.members().size());
+      for (RecordingTransportFactory factory : Arrays.asList(seedTransport, otherTransport)) {
+        TransportImpl transport = factory.transport();
+        // Regular connection and one for failure detector messages to the other member
+        assertEquals(2, transport.outboundConnectionCount());
+        assertTrue(transport.totalHandshakeCount() >= 2);
+        assertTrue(transport.totalKeepAliveCount() > 0);
+      }
+    } finally {
+      shutdown(Arrays.asList(seedNode, otherNode));
+    }
+  }
+
+  @Test
+  public void testSystemPriorityLaneOffByDefault() throws Exception {
+    RecordingTransportFactory seedTransport = new RecordingTransportFactory(tcp());
+    RecordingTransportFactory otherTransport = new RecordingTransportFactory(tcp());
+    Cluster seedNode =
+        new ClusterImpl()
+            .transport(opts -> opts.eagerConnect(true).transportFactory(seedTransport))
+            .startAwait();
+    Cluster otherNode =
+        new ClusterImpl()
+            .membership(opts -> opts.seedMembers(seedNode.address()))
+            .transport(opts -> opts.eagerConnect(true).transportFactory(otherTransport))
+            .startAwait();
+
+    try {
+      TimeUnit.SECONDS.sleep(2);
+
+      assertEquals(2, seedNode.members().size());
+      assertEquals(2, otherNode.members().size());
+      for (RecordingTransportFactory factory : Arrays.asList(seedTransport, otherTransport)) {
+        // Failure detector messages share the only connection to the other member
+        assertEquals(1, factory.transport().outboundConnectionCount());
+      }
+    } finally {
+      shutdown(Arrays.asList(seedNode, otherNode));
+    }
+  }
+
+  @Test
+  public void testSyncDigestsNotPassedToHandler() throws Exception {
+    List<String> qualifiers = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch userMessageReceived = new CountDownLatch(1);
+
+    RecordingTransportFactory seedTransport = new RecordingTransportFactory(tcp());
+    Cluster seedNode =
+        new ClusterImpl()
+            .membership(opts -> opts.syncInterval(100))
+            .transport(opts -> opts.transportFactory(seedTransport))
+            .handler(
+                cluster ->
+                    new ClusterMessageHandler() {
+                      @Override
+                      public void onMessage(Message message) {
+                        qualifiers.add(message.qualifier());
+                        userMessageReceived.countDown();
+                      }
+                    })
+            .startAwait();
+    Cluster otherNode =
+        new ClusterImpl()
+            .membership(opts -> opts.seedMembers(seedNode.address()).syncInterval(100))
+            .startAwait();
+
+    try {
+      AtomicInteger digestCount = new AtomicInteger();
+      seedTransport
+          .transport()
+          .listen(MembershipProtocolImpl.SYNC_DIGEST)
+          .subscribe(message -> digestCount.incrementAndGet());
+
+      // Digests are sent every 100ms in both directions
+      TimeUnit.SECONDS.sleep(2);
+      otherNode
+          .send(seedNode.member(), Message.withData("hello").qualifier("user/hello").build())
+          .block(TIMEOUT);
+
+      assertTrue(userMessageReceived.await(TIMEOUT.getSeconds(), TimeUnit.SECONDS));
+      assertTrue(digestCount.get() > 0);
+      assertEquals(Collections.singletonList("user/hello"), qualifiers);
+    } finally {
+      shutdown(Arrays.asList(seedNode, otherNode));
+    }
+  }
+
+  @Test
+  public void testMalformedSystemMessagesDropped() throws Exception {
+    // Binary codec decodes message data lazily, on first access
+    Cluster seedNode =
+        new ClusterImpl()
+            .transport(opts -> opts.messageCodec(new BinaryMessageCodec()))
+            .startAwait();
+    Transport transport =
+        TransportImpl.bindAwait(
+            TransportConfig.defaultConfig().messageCodec(new BinaryMessageCodec()));
+
+    Cluster otherNode = null;
+    try {
+      for (String qualifier :
+          Arrays.asList(
+              FailureDetectorImpl.PING,
+              GossipProtocolImpl.GOSSIP_REQ,
+              MembershipProtocolImpl.SYNC,
+              MembershipProtocolImpl.SYNC_DIGEST,
+              MetadataStoreImpl.GET_METADATA_REQ)) {
+        Message message = Message.withData(new MalformedData()).qualifier(qualifier).build();
+        transport.send(seedNode.address(), message).block(TIMEOUT);
+      }
+
+      // Protocols of seed node still listen to messages, so that other node joins
+      otherNode =
+          new ClusterImpl()
+              .membership(opts -> opts.seedMembers(seedNode.address()))
+              .transport(opts -> opts.messageCodec(new BinaryMessageCodec()))
+              .startAwait();
+      TimeUnit.SECONDS.sleep(2);
+
+      assertEquals(2, seedNode.members().size());
+      assertEquals(2, otherNode.members().size());
+      assertEquals(otherNode.member(), seedNode.otherMembers().iterator().next());
+    } finally {
+      transport.stop().block(TIMEOUT);
+      shutdown(
+          otherNode != null ? Arrays.asList(seedNode, otherNode) : Arrays.asList(seedNode));
+    }
+  }
+
   @Test
   public void testJoinLocalhostIgnored() throws InterruptedException {
     InetAddress localIpAddress = Address.getLocalIpAddress();
@@ -530,6 +779,51 @@ public void testJoinSeedClusterWithNoExistingSeedMember() {
     assertEquals(seedNode.member(), otherNode.otherMembers().iterator().next());
   }
 
+  /** Data which is written fine, but fails to be read. */
+  public static class MalformedData implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+      out.writeInt(42);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+      throw new StreamCorruptedException("Malformed data");
+    }
+  }
+
+  private static TransportFactory tcp() {
+    return new TcpTransportFactory();
+  }
+
+  private static TransportFactory udp() {
+    return new UdpTransportFactory();
+  }
+
+  /** Creates transports by given factory and keeps the one created last, to check its counters. */
+  private static final class RecordingTransportFactory implements TransportFactory {
+
+    private final TransportFactory transportFactory;
+    private volatile TransportImpl transport;
+
+    private RecordingTransportFactory(TransportFactory transportFactory) {
+      this.transportFactory = transportFactory;
+    }
+
+    @Override
+    public Transport createTransport(TransportConfig config) {
+      transport = (TransportImpl) transportFactory.createTransport(config);
+      return transport;
+    }
+
+    private TransportImpl transport() {
+      return transport;
+    }
+  }
+
   private void shutdown(List<Cluster> nodes) {
     try {
       Mono.whenDelayError(
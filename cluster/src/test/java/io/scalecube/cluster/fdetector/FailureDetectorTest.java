@@ -3,17 +3,24 @@
 import static io.scalecube.cluster.membership.MemberStatus.ALIVE;
 import static io.scalecube.cluster.membership.MemberStatus.SUSPECT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.scalecube.cluster.BaseTest;
 import io.scalecube.cluster.CorrelationIdGenerator;
 import io.scalecube.cluster.Member;
+import io.scalecube.cluster.gossip.GossipConfig;
+import io.scalecube.cluster.gossip.GossipProtocol;
+import io.scalecube.cluster.gossip.GossipProtocolImpl;
 import io.scalecube.cluster.membership.MemberStatus;
 import io.scalecube.cluster.membership.MembershipEvent;
+import io.scalecube.cluster.transport.api.Message;
 import io.scalecube.cluster.transport.api.Transport;
 import io.scalecube.cluster.transport.api.TransportConfig;
 import io.scalecube.cluster.utils.NetworkEmulatorTransport;
 import io.scalecube.net.Address;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -27,6 +34,7 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
@@ -398,6 +406,75 @@ public void testStatusChangeAfterMemberRestart() throws Exception {
     }
   }
 
+  @Test
+  public void testGossipsArePiggybacked() throws Exception {
+    Transport a = createTransport();
+    Transport b = createTransport();
+    List<Address> members = Arrays.asList(a.address(), b.address());
+
+    // Gossip protocols aren't started, so gossips can only travel with pings and acks
+    GossipProtocolImpl gossipA = createGossipProtocol(a, members);
+    GossipProtocolImpl gossipB = createGossipProtocol(b, members);
+
+    FailureDetectorConfig config =
+        FailureDetectorConfig.defaultLocalConfig()
+            .pingTimeout(100)
+            .pingInterval(200)
+            .piggybackMaxBytes(1024);
+    FailureDetectorImpl fdA = createFd(a, members, config, gossipA);
+    FailureDetectorImpl fdB = createFd(b, members, config, gossipB);
+    List<FailureDetectorImpl> fdetectors = Arrays.asList(fdA, fdB);
+
+    try {
+      Future<Message> gossipOnB = gossipB.listen().next().toFuture();
+      Future<Message> gossipOnA = gossipA.listen().next().toFuture();
+      gossipA.spread(Message.fromData("from a")).subscribe();
+      gossipB.spread(Message.fromData("from b")).subscribe();
+
+      start(fdetectors);
+
+      assertEquals("from a", gossipOnB.get(5, TimeUnit.SECONDS).data());
+      assertEquals("from b", gossipOnA.get(5, TimeUnit.SECONDS).data());
+    } finally {
+      gossipA.stop();
+      gossipB.stop();
+      stop(fdetectors);
+    }
+  }
+
+  @Test
+  public void testPiggybackedGossipsSpreadOnceAcked() throws Exception {
+    Transport a = createTransport();
+    Transport b = createTransport();
+    List<Address> members = Arrays.asList(a.address(), b.address());
+    Member memberB = new Member("member-" + b.address().port(), null, b.address(), NAMESPACE);
+    GossipProtocolImpl gossipA = createGossipProtocol(a, members);
+
+    try {
+      gossipA.spread(Message.fromData("from a")).subscribe();
+
+      // Not acknowledged piggybacked gossips are piggybacked (and spread) to member once again
+      Message gossips = piggyback(gossipA, memberB);
+      assertNotNull(gossips);
+      assertNotNull(piggyback(gossipA, memberB));
+
+      Mono.fromRunnable(() -> gossipA.onPiggybackAcked(memberB, gossips))
+          .subscribeOn(scheduler)
+          .block(Duration.ofSeconds(5));
+      assertNull(piggyback(gossipA, memberB));
+    } finally {
+      gossipA.stop();
+      destroyTransport(a);
+      destroyTransport(b);
+    }
+  }
+
+  private Message piggyback(GossipProtocolImpl gossipProtocol, Member member) {
+    return Mono.fromCallable(() -> gossipProtocol.piggyback(member, 1024))
+        .subscribeOn(scheduler)
+        .block(Duration.ofSeconds(5));
+  }
+
   private FailureDetectorImpl createFd(Transport transport, List<Address> members) {
     FailureDetectorConfig failureDetectorConfig =
         FailureDetectorConfig.defaultLocalConfig() // faster config for local testing
@@ -409,6 +486,14 @@ private FailureDetectorImpl createFd(Transport transport, List<Address> members)
 
   private FailureDetectorImpl createFd(
       Transport transport, List<Address> addresses, FailureDetectorConfig config) {
+    return createFd(transport, addresses, config, null);
+  }
+
+  private FailureDetectorImpl createFd(
+      Transport transport,
+      List<Address> addresses,
+      FailureDetectorConfig config,
+      GossipProtocol gossipProtocol) {
 
     Member localMember =
         new Member("member-" + transport.address().port(), null, transport.address(), NAMESPACE);
@@ -422,7 +507,21 @@ private FailureDetectorImpl createFd(
     CorrelationIdGenerator cidGenerator = new CorrelationIdGenerator(localMember.id());
 
     return new FailureDetectorImpl(
-        localMember, transport, membershipFlux, config, scheduler, cidGenerator);
+        localMember, transport, membershipFlux, config, scheduler, cidGenerator, gossipProtocol);
+  }
+
+  private GossipProtocolImpl createGossipProtocol(Transport transport, List<Address> addresses) {
+    Member localMember =
+        new Member("member-" + transport.address().port(), null, transport.address(), NAMESPACE);
+
+    Flux<MembershipEvent> membershipFlux =
+        Flux.fromIterable(addresses)
+            .filter(address -> !transport.address().equals(address))
+            .map(address -> new Member("member-" + address.port(), null, address, NAMESPACE))
+            .map(member -> MembershipEvent.createAdded(member, null, 0));
+
+    return new GossipProtocolImpl(
+        localMember, transport, membershipFlux, GossipConfig.defaultLocalConfig(), scheduler);
   }
 
   private void start(List<FailureDetectorImpl> fdetectors) {
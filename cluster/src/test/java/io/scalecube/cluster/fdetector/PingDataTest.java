@@ -0,0 +1,62 @@
+package io.scalecube.cluster.fdetector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.scalecube.cluster.BaseTest;
+import io.scalecube.cluster.Member;
+import io.scalecube.cluster.codec.binary.BinaryMessageCodec;
+import io.scalecube.cluster.fdetector.PingData.AckType;
+import io.scalecube.cluster.transport.api.JdkMessageCodec;
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.cluster.transport.api.MessageCodec;
+import io.scalecube.net.Address;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class PingDataTest extends BaseTest {
+
+  private static final String NAMESPACE = "ns";
+
+  private final Member from = new Member("0", null, Address.from("localhost:1234"), NAMESPACE);
+  private final Member to = new Member("1", null, Address.from("localhost:1235"), NAMESPACE);
+
+  private final List<MessageCodec> codecs =
+      Arrays.asList(new JdkMessageCodec(), new BinaryMessageCodec());
+
+  @Test
+  public void testSerializationWithoutGossips() throws Exception {
+    for (MessageCodec codec : codecs) {
+      PingData data = roundTrip(codec, new PingData(from, to).withAckType(AckType.DEST_OK));
+
+      assertEquals(from, data.getFrom());
+      assertEquals(to, data.getTo());
+      assertNull(data.getOriginalIssuer());
+      assertEquals(AckType.DEST_OK, data.getAckType());
+      assertNull(data.getGossips());
+    }
+  }
+
+  @Test
+  public void testSerializationWithGossips() throws Exception {
+    Message gossips = Message.withData("gossips").qualifier("sc/gossip/req").build();
+    for (MessageCodec codec : codecs) {
+      PingData data = roundTrip(codec, new PingData(from, to, to).withGossips(gossips));
+
+      assertEquals(to, data.getOriginalIssuer());
+      assertNull(data.getAckType());
+      assertNotNull(data.getGossips());
+      assertEquals("gossips", data.getGossips().data());
+    }
+  }
+
+  private static PingData roundTrip(MessageCodec codec, PingData data) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    codec.serialize(Message.withData(data).qualifier(FailureDetectorImpl.PING).build(), out);
+    return codec.deserialize(new ByteArrayInputStream(out.toByteArray())).data();
+  }
+}
@@ -0,0 +1,112 @@
+package io.scalecube.cluster.gossip;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.cluster.BaseTest;
+import io.scalecube.cluster.Member;
+import io.scalecube.cluster.membership.MembershipEvent;
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.cluster.transport.api.Transport;
+import io.scalecube.cluster.utils.NetworkEmulatorTransport;
+import io.scalecube.net.Address;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+public class GossipBatchTest extends BaseTest {
+
+  private static final String NAMESPACE = "ns";
+
+  private static final int GOSSIPS_NUM = 10;
+
+  private final Scheduler scheduler = Schedulers.newSingle("scheduler", true);
+
+  @AfterEach
+  public void tearDown() {
+    scheduler.dispose();
+  }
+
+  @Test
+  public void testGossipsAreSentInBatches() throws Exception {
+    long batchedMessages = spreadAndCountMessages(GossipConfig.DEFAULT_GOSSIP_BATCH_SIZE);
+    long unbatchedMessages = spreadAndCountMessages(1);
+
+    assertTrue(
+        batchedMessages < unbatchedMessages,
+        "batched: " + batchedMessages + ", unbatched: " + unbatchedMessages);
+  }
+
+  @Test
+  public void testBatchIsBoundedByMaxBytes() throws Exception {
+    // every gossip exceeds max bytes, so every gossip is sent alone
+    long messages = spreadAndCountMessages(new GossipConfig().gossipBatchMaxBytes(1));
+    long batchedMessages = spreadAndCountMessages(GossipConfig.DEFAULT_GOSSIP_BATCH_SIZE);
+
+    assertTrue(messages >= GOSSIPS_NUM, "messages: " + messages);
+    assertTrue(
+        batchedMessages < messages, "batched: " + batchedMessages + ", bounded: " + messages);
+  }
+
+  private long spreadAndCountMessages(int batchSize) throws Exception {
+    return spreadAndCountMessages(new GossipConfig().gossipBatchSize(batchSize));
+  }
+
+  private long spreadAndCountMessages(GossipConfig gossipConfig) throws Exception {
+    NetworkEmulatorTransport transport1 = createTransport();
+    NetworkEmulatorTransport transport2 = createTransport();
+    List<Address> addresses = Arrays.asList(transport1.address(), transport2.address());
+
+    GossipProtocolImpl gossipProtocol1 = initGossipProtocol(transport1, addresses, gossipConfig);
+    GossipProtocolImpl gossipProtocol2 = initGossipProtocol(transport2, addresses, gossipConfig);
+
+    try {
+      CountDownLatch latch = new CountDownLatch(GOSSIPS_NUM);
+      gossipProtocol2.listen().subscribe(message -> latch.countDown());
+
+      Flux.range(0, GOSSIPS_NUM)
+          .concatMap(i -> Mono.fromRunnable(() -> spread(gossipProtocol1, i)))
+          .subscribeOn(scheduler)
+          .blockLast();
+
+      assertTrue(latch.await(10, TimeUnit.SECONDS), "Not all gossips were received");
+
+      // let gossips be spread during all periods
+      TimeUnit.MILLISECONDS.sleep(20 * gossipConfig.gossipInterval());
+
+      return transport1.networkEmulator().totalMessageSentCount();
+    } finally {
+      gossipProtocol1.stop();
+      gossipProtocol2.stop();
+      destroyTransport(transport1);
+      destroyTransport(transport2);
+    }
+  }
+
+  private void spread(GossipProtocolImpl gossipProtocol, int i) {
+    gossipProtocol.spread(Message.fromData("message: " + i)).subscribe();
+  }
+
+  private GossipProtocolImpl initGossipProtocol(
+      Transport transport, List<Address> members, GossipConfig gossipConfig) {
+    Member localMember =
+        new Member("member-" + transport.address().port(), null, transport.address(), NAMESPACE);
+
+    Flux<MembershipEvent> membershipFlux =
+        Flux.fromIterable(members)
+            .filter(address -> !transport.address().equals(address))
+            .map(address -> new Member("member-" + address.port(), null, address, NAMESPACE))
+            .map(member -> MembershipEvent.createAdded(member, null, 0));
+
+    GossipProtocolImpl gossipProtocol =
+        new GossipProtocolImpl(localMember, transport, membershipFlux, gossipConfig, scheduler);
+    gossipProtocol.start();
+    return gossipProtocol;
+  }
+}
@@ -0,0 +1,76 @@
+package io.scalecube.cluster.gossip;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.cluster.BaseTest;
+import io.scalecube.cluster.transport.api.Message;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GossipIndexTest extends BaseTest {
+
+  private GossipIndex gossipIndex;
+  private long sequenceId;
+
+  @BeforeEach
+  public void init() {
+    gossipIndex = new GossipIndex();
+    sequenceId = 0;
+    // Two gossips in period 0, one in period 1, none in period 2, two in period 3
+    for (long period : new long[] {0, 0, 1, 3, 3}) {
+      gossipIndex.add(gossipState(period));
+    }
+  }
+
+  @Test
+  public void testGetByGossipId() {
+    GossipState gossipState = gossipState(3);
+    gossipIndex.add(gossipState);
+
+    assertEquals(6, gossipIndex.size());
+    assertSame(gossipState, gossipIndex.get(gossipState.gossip().gossipId()));
+    assertNull(gossipIndex.get("unknown-0"));
+  }
+
+  @Test
+  public void testInfectedSince() {
+    assertEquals(Arrays.asList("g-2", "g-3", "g-4"), ids(gossipIndex.infectedSince(1)));
+    assertEquals(Arrays.asList("g-3", "g-4"), ids(gossipIndex.infectedSince(2)));
+    assertTrue(gossipIndex.infectedSince(4).isEmpty());
+  }
+
+  @Test
+  public void testDisseminatedAreReportedOnce() {
+    assertEquals(Arrays.asList("g-0", "g-1"), gossipIndex.disseminatedBefore(1));
+    assertTrue(gossipIndex.disseminatedBefore(1).isEmpty());
+    assertEquals(Arrays.asList("g-2", "g-3", "g-4"), gossipIndex.disseminatedBefore(10));
+    assertTrue(gossipIndex.disseminatedBefore(5).isEmpty());
+  }
+
+  @Test
+  public void testRemoveBefore() {
+    assertEquals(Arrays.asList("g-0", "g-1", "g-2"), gossipIndex.removeBefore(3));
+    assertEquals(2, gossipIndex.size());
+    assertNull(gossipIndex.get("g-0"));
+    assertEquals(Arrays.asList("g-3", "g-4"), ids(gossipIndex.infectedSince(0)));
+
+    assertEquals(Arrays.asList("g-3", "g-4"), gossipIndex.removeBefore(10));
+    assertTrue(gossipIndex.isEmpty());
+  }
+
+  private GossipState gossipState(long period) {
+    return new GossipState(new Gossip("g", Message.fromData("data"), sequenceId++), period);
+  }
+
+  private static List<String> ids(List<GossipState> gossipStates) {
+    return gossipStates.stream()
+        .map(gossipState -> gossipState.gossip().gossipId())
+        .collect(Collectors.toList());
+  }
+}
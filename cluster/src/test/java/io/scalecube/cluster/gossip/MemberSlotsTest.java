@@ -0,0 +1,47 @@
+package io.scalecube.cluster.gossip;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.scalecube.cluster.BaseTest;
+import org.junit.jupiter.api.Test;
+
+public class MemberSlotsTest extends BaseTest {
+
+  private final MemberSlots memberSlots = new MemberSlots();
+
+  @Test
+  public void testSlotsAreDense() {
+    assertEquals(0, memberSlots.slot("a"));
+    assertEquals(1, memberSlots.slot("b"));
+    assertEquals(2, memberSlots.slot("c"));
+    assertEquals(1, memberSlots.slot("b"));
+    assertEquals(3, memberSlots.size());
+  }
+
+  @Test
+  public void testReleasedSlotIsReused() {
+    memberSlots.slot("a");
+    memberSlots.slot("b");
+    memberSlots.slot("c");
+
+    assertEquals(1, memberSlots.release("b"));
+    assertEquals(-1, memberSlots.release("b"));
+    assertEquals(0, memberSlots.release("a"));
+
+    assertEquals(0, memberSlots.slot("d"));
+    assertEquals(1, memberSlots.slot("e"));
+    assertEquals(3, memberSlots.slot("f"));
+  }
+
+  @Test
+  public void testFindDoesNotAssignSlot() {
+    memberSlots.slot("a");
+    memberSlots.slot("b");
+    memberSlots.release("b");
+
+    assertEquals(0, memberSlots.find("a"));
+    assertEquals(-1, memberSlots.find("b"));
+    assertEquals(-1, memberSlots.find("c"));
+    assertEquals(1, memberSlots.size());
+  }
+}
@@ -0,0 +1,106 @@
+package io.scalecube.cluster.gossip;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class SequenceIdWindowTest {
+
+  private final SequenceIdWindow window = new SequenceIdWindow(100); // rounded up to 128
+
+  @Test
+  public void testEmpty() {
+    assertFalse(window.contains(0));
+    assertEquals(0, window.takeMissed());
+  }
+
+  @Test
+  public void testAddExistedElement() {
+    assertTrue(window.add(10));
+    assertTrue(window.contains(10));
+    assertFalse(window.contains(11));
+    assertFalse(window.add(10));
+  }
+
+  @Test
+  public void testInOrderMovesWatermark() {
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(window.add(i));
+    }
+    assertEquals(1000, window.watermark());
+    assertFalse(window.add(0));
+    assertFalse(window.add(999));
+    assertEquals(0, window.takeMissed());
+  }
+
+  @Test
+  public void testWatermarkSkipsIdsReceivedAhead() {
+    for (int i = 1; i < 128; i++) {
+      assertTrue(window.add(i));
+    }
+    assertEquals(0, window.watermark());
+
+    assertTrue(window.add(0));
+    assertEquals(128, window.watermark());
+  }
+
+  @Test
+  public void testReorderedAndLossySequence() {
+    Random random = new Random(42);
+    List<Long> sequence = new ArrayList<>();
+    for (long i = 0; i < 10000; i++) {
+      if (random.nextInt(100) != 0) { // lost
+        sequence.add(i);
+      }
+    }
+    for (int i = 0; i + 4 < sequence.size(); i += 4) {
+      Collections.shuffle(sequence.subList(i, i + 4), random);
+    }
+
+    TreeSet<Long> expected = new TreeSet<>();
+    for (long sequenceId : sequence) {
+      assertEquals(expected.add(sequenceId), window.add(sequenceId));
+      assertFalse(window.add(sequenceId));
+    }
+
+    // Lost ids left behind the window are missed
+    long lost = 10000 - sequence.size();
+    long missed = window.takeMissed();
+    assertTrue(missed > 0 && missed <= lost, "missed: " + missed);
+    assertEquals(0, window.takeMissed());
+  }
+
+  @Test
+  public void testDuplicatesAreRejectedAfterLongPartition() {
+    for (int i = 0; i < 50; i++) {
+      window.add(i);
+    }
+
+    // Gossiper went far ahead while we were partitioned
+    assertTrue(window.add(100_000));
+    assertEquals(100_000 - 128 + 1 - 50, window.takeMissed());
+
+    assertFalse(window.add(10));
+    assertFalse(window.add(60));
+    assertTrue(window.add(99_999));
+    assertFalse(window.add(99_999));
+  }
+
+  @Test
+  public void testFirstIdDoesNotCountPreviousIdsAsMissed() {
+    assertTrue(window.add(5000));
+    assertTrue(window.add(4990)); // reordered, still within window
+    for (int i = 5001; i < 6000; i++) {
+      assertTrue(window.add(i));
+    }
+    assertEquals(0, window.takeMissed());
+    assertFalse(window.add(4990));
+  }
+}
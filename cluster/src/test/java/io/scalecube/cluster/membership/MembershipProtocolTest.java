@@ -281,6 +281,64 @@ public void testInitialPhaseOk() {
     }
   }
 
+  @Test
+  public void testInitialSyncByPages() {
+    NetworkEmulatorTransport a = createTransport();
+    ClusterConfig seedConfig =
+        testConfig(Collections.emptyList()).membership(opts -> opts.syncPageSize(2));
+    ClusterConfig config =
+        testConfig(Collections.singletonList(a.address())).membership(opts -> opts.syncPageSize(2));
+
+    MembershipProtocolImpl cmA = createMembership(a, seedConfig);
+    MembershipProtocolImpl cmB = createMembership(createTransport(), config);
+    MembershipProtocolImpl cmC = createMembership(createTransport(), config);
+    MembershipProtocolImpl cmD = createMembership(createTransport(), config);
+    // Seed answers with its table of five records by three pages, all are merged on start
+    MembershipProtocolImpl cmE = createMembership(createTransport(), config);
+
+    try {
+      assertTrusted(cmE, cmA.member(), cmB.member(), cmC.member(), cmD.member());
+      assertNoSuspected(cmE);
+    } finally {
+      stopAll(cmA, cmB, cmC, cmD, cmE);
+    }
+  }
+
+  @Test
+  public void testSyncAckIsSentOnceAllSyncPagesReceived() {
+    NetworkEmulatorTransport a = createTransport();
+    NetworkEmulatorTransport b = createTransport();
+    // Incomplete Sync is kept for syncTimeout, which is longer than pauses between pages below
+    ClusterConfig config =
+        testConfig(Collections.emptyList()).membership(opts -> opts.syncTimeout(3_000));
+    MembershipProtocolImpl cmA = createMembership(a, config);
+
+    String cid = "sync-by-pages";
+    List<Message> syncAcks = Collections.synchronizedList(new ArrayList<>());
+    b.listen(MembershipProtocolImpl.SYNC_ACK)
+        .filter(message -> cid.equals(message.correlationId()))
+        .subscribe(syncAcks::add);
+
+    try {
+      // First of two pages is merged, but not answered
+      b.send(a.address(), syncPage(cid, 0, 2)).block(TIMEOUT);
+      awaitSeconds(1);
+      assertTrue(syncAcks.isEmpty(), "SyncAck before last page: " + syncAcks);
+
+      // Last page completes Sync
+      b.send(a.address(), syncPage(cid, 1, 2)).block(TIMEOUT);
+      awaitUntil(() -> assertEquals(1, syncAcks.size())).block(TIMEOUT);
+
+      // Page after Sync is complete is dropped
+      b.send(a.address(), syncPage(cid, 1, 2)).block(TIMEOUT);
+      awaitSeconds(1);
+      assertEquals(1, syncAcks.size(), "SyncAck for dropped page: " + syncAcks);
+    } finally {
+      stopAll(cmA);
+      destroyTransport(b);
+    }
+  }
+
   @Test
   public void testNetworkPartitionDueNoOutboundThenRecover() {
     NetworkEmulatorTransport a = createTransport();
@@ -1176,6 +1234,14 @@ private MembershipProtocolImpl createMembership(Transport transport, ClusterConf
     return membership;
   }
 
+  private static Message syncPage(String cid, int page, int pageCount) {
+    SyncData syncData = new SyncData(Collections.emptyList(), page, pageCount, 0, null);
+    return Message.withData(syncData)
+        .qualifier(MembershipProtocolImpl.SYNC)
+        .correlationId(cid)
+        .build();
+  }
+
   private String newMemberId() {
     return Long.toHexString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE);
   }
@@ -0,0 +1,90 @@
+package io.scalecube.cluster.membership;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.cluster.BaseTest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.util.BitSet;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+public class SyncDataTest extends BaseTest {
+
+  @Test
+  public void testBucketsAreSerialized() throws Exception {
+    BitSet buckets = new BitSet();
+    buckets.set(3);
+    buckets.set(100);
+    SyncData syncData = new SyncData(Collections.emptyList(), 0, 1, 128, buckets);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      syncData.writeExternal(out);
+    }
+    SyncData result = read(bytes.toByteArray());
+
+    assertEquals(128, result.bucketCount());
+    assertEquals(buckets, result.buckets());
+  }
+
+  @Test
+  public void testFormerFormatIsReadAsSingleLastPage() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeInt(0); // membership only, as written by former version
+    }
+    SyncData result = read(bytes.toByteArray());
+
+    assertTrue(result.getMembership().isEmpty());
+    assertEquals(0, result.page());
+    assertEquals(1, result.pageCount());
+    assertTrue(result.isLastPage());
+    assertEquals(0, result.bucketCount());
+    assertNull(result.buckets());
+  }
+
+  @Test
+  public void testInvalidBucketCountRejected() throws Exception {
+    for (int bucketCount : new int[] {-1, SyncDigest.MAX_BUCKET_COUNT + 1, Integer.MAX_VALUE}) {
+      byte[] bytes = write(bucketCount, 1);
+      assertThrows(StreamCorruptedException.class, () -> read(bytes));
+    }
+  }
+
+  @Test
+  public void testInvalidBucketsSizeRejected() throws Exception {
+    for (int wordCount : new int[] {-1, 3, Integer.MAX_VALUE}) {
+      byte[] bytes = write(128, wordCount);
+      assertThrows(StreamCorruptedException.class, () -> read(bytes));
+    }
+  }
+
+  // Writes sync data with no membership records and given buckets header
+  private static byte[] write(int bucketCount, int wordCount) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeInt(0); // membership
+      out.writeInt(0); // page
+      out.writeInt(1); // pageCount
+      out.writeInt(bucketCount);
+      out.writeInt(wordCount);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static SyncData read(byte[] bytes) throws Exception {
+    SyncData syncData = new SyncData();
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      syncData.readExternal(in);
+    }
+    return syncData;
+  }
+}
@@ -0,0 +1,67 @@
+package io.scalecube.cluster.membership;
+
+import static io.scalecube.cluster.membership.MemberStatus.ALIVE;
+import static io.scalecube.cluster.membership.MemberStatus.SUSPECT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.cluster.BaseTest;
+import io.scalecube.cluster.Member;
+import io.scalecube.net.Address;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class SyncDigestTest extends BaseTest {
+
+  private final List<MembershipRecord> membership = new ArrayList<>();
+
+  {
+    for (int i = 0; i < 100; i++) {
+      Member member = new Member("member-" + i, null, Address.from("localhost:" + (4000 + i)), "ns");
+      membership.add(new MembershipRecord(member, ALIVE, i % 3));
+    }
+  }
+
+  @Test
+  public void testBucketCountFollowsTableSize() {
+    assertEquals(1, SyncDigest.of(Collections.emptyList()).bucketCount());
+    assertEquals(13, SyncDigest.of(membership).bucketCount());
+  }
+
+  @Test
+  public void testSameTablesDoNotDiffer() {
+    List<MembershipRecord> reordered = new ArrayList<>(membership);
+    Collections.reverse(reordered);
+
+    assertTrue(SyncDigest.of(membership).diff(reordered).isEmpty());
+  }
+
+  @Test
+  public void testChangedRecordDiffersInItsBucketOnly() {
+    SyncDigest digest = SyncDigest.of(membership);
+    MembershipRecord r0 = membership.get(42);
+    List<MembershipRecord> changed = new ArrayList<>(membership);
+    changed.set(42, new MembershipRecord(r0.member(), SUSPECT, r0.incarnation()));
+
+    assertEquals(bucketOf(r0, digest), digest.diff(changed));
+  }
+
+  @Test
+  public void testMissingRecordDiffersInItsBucketOnly() {
+    SyncDigest digest = SyncDigest.of(membership);
+    MembershipRecord r0 = membership.get(7);
+    List<MembershipRecord> missing = new ArrayList<>(membership);
+    missing.remove(7);
+
+    assertEquals(bucketOf(r0, digest), digest.diff(missing));
+  }
+
+  private static BitSet bucketOf(MembershipRecord record, SyncDigest digest) {
+    BitSet buckets = new BitSet();
+    buckets.set(SyncDigest.bucket(record.member().id(), digest.bucketCount()));
+    return buckets;
+  }
+}
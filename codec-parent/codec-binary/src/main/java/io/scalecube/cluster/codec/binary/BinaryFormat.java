@@ -0,0 +1,106 @@
+package io.scalecube.cluster.codec.binary;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Constants of binary wire format.
+ *
+ * <p>Message layout: {@code version:u8, headersCount:varint, (name:string, value:string)*,
+ * data:object}.
+ *
+ * <p>String layout: {@code code:varint} where code is {@link #STRING_NULL}, {@link
+ * #STRING_LITERAL} followed by {@code length:varint, utf8:bytes}, or index of dictionary entry
+ * shifted by {@link #STRING_DICTIONARY_OFFSET}.
+ *
+ * <p>Object layout: {@code type:u8} followed by type specific content.
+ */
+final class BinaryFormat {
+
+  static final int VERSION = 1;
+
+  static final int STRING_NULL = 0;
+  static final int STRING_LITERAL = 1;
+  static final int STRING_DICTIONARY_OFFSET = 2;
+
+  static final int TYPE_NULL = 0;
+  static final int TYPE_STRING = 1;
+  static final int TYPE_BYTES = 2;
+  static final int TYPE_MESSAGE = 3;
+  static final int TYPE_ENUM = 4;
+  static final int TYPE_EXTERNALIZABLE = 5;
+  static final int TYPE_SERIALIZABLE = 6;
+
+  /**
+   * Static dictionary of well-known strings: header names, system qualifiers and class names of
+   * system messages data. Entries are referenced on the wire by index, so this list is
+   * append-only.
+   */
+  private static final List<String> DICTIONARY =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              // header names
+              "q",
+              "cid",
+              "sender",
+              // system qualifiers
+              "sc/fdetector/ping",
+              "sc/fdetector/pingReq",
+              "sc/fdetector/pingAck",
+              "sc/membership/sync",
+              "sc/membership/syncAck",
+              "sc/membership/gossip",
+              "sc/gossip/req",
+              "sc/metadata/req",
+              "sc/metadata/resp",
+              // class names
+              "io.scalecube.cluster.Member",
+              "io.scalecube.cluster.fdetector.PingData",
+              "io.scalecube.cluster.fdetector.PingData$AckType",
+              "io.scalecube.cluster.membership.SyncData",
+              "io.scalecube.cluster.membership.MembershipRecord",
+              "io.scalecube.cluster.membership.MemberStatus",
+              "io.scalecube.cluster.gossip.GossipRequest",
+              "io.scalecube.cluster.gossip.Gossip",
+              "io.scalecube.cluster.metadata.GetMetadataRequest",
+              "io.scalecube.cluster.metadata.GetMetadataResponse",
+              // appended entries
+              "sc/membership/syncDigest",
+              "io.scalecube.cluster.membership.SyncDigest"));
+
+  private static final Map<String, Integer> DICTIONARY_INDEX = new HashMap<>();
+
+  static {
+    for (int i = 0; i < DICTIONARY.size(); i++) {
+      DICTIONARY_INDEX.put(DICTIONARY.get(i), i);
+    }
+  }
+
+  private BinaryFormat() {
+    // Do not instantiate
+  }
+
+  /**
+   * Returns index of given string in dictionary.
+   *
+   * @param value string
+   * @return index in dictionary or -1 if string is not in dictionary
+   */
+  static int indexOf(String value) {
+    Integer index = DICTIONARY_INDEX.get(value);
+    return index != null ? index : -1;
+  }
+
+  /**
+   * Returns dictionary entry by given index.
+   *
+   * @param index index in dictionary
+   * @return dictionary entry or null if index is out of dictionary bounds
+   */
+  static String entry(int index) {
+    return index >= 0 && index < DICTIONARY.size() ? DICTIONARY.get(index) : null;
+  }
+}
@@ -0,0 +1,51 @@
+package io.scalecube.cluster.codec.binary;
+
+import io.scalecube.cluster.transport.api.ByteBufferMessageCodec;
+import io.scalecube.cluster.transport.api.Message;
+import java.io.EOFException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Message codec with compact binary layout: varint lengths, static dictionary for header names,
+ * system qualifiers and class names, and {@link java.io.Externalizable} data written without class
+ * descriptors. See {@link BinaryFormat} for details.
+ */
+public class BinaryMessageCodec implements ByteBufferMessageCodec {
+
+  @Override
+  public Message deserialize(ByteBuffer buffer) throws Exception {
+    BinaryObjectInput input = new BinaryObjectInput(buffer);
+    try {
+      int version = input.readUnsignedByte();
+      if (version != BinaryFormat.VERSION) {
+        throw new StreamCorruptedException("Unsupported version: " + version);
+      }
+      return input.readMessage();
+    } catch (BufferUnderflowException e) {
+      throw new EOFException("Unexpected end of message");
+    }
+  }
+
+  @Override
+  public Message deserializeLazily(ByteBuffer buffer) throws Exception {
+    BinaryObjectInput input = new BinaryObjectInput(buffer);
+    try {
+      int version = input.readUnsignedByte();
+      if (version != BinaryFormat.VERSION) {
+        throw new StreamCorruptedException("Unsupported version: " + version);
+      }
+      return input.readMessageLazily();
+    } catch (BufferUnderflowException e) {
+      throw new EOFException("Unexpected end of message");
+    }
+  }
+
+  @Override
+  public void serialize(Message message, ByteBuffer buffer) throws Exception {
+    BinaryObjectOutput output = new BinaryObjectOutput(buffer);
+    output.writeByte(BinaryFormat.VERSION);
+    output.writeMessage(message);
+  }
+}
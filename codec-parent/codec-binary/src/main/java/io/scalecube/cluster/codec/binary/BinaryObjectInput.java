@@ -0,0 +1,394 @@
+package io.scalecube.cluster.codec.binary;
+
+import static io.scalecube.cluster.codec.binary.BinaryFormat.STRING_DICTIONARY_OFFSET;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.STRING_LITERAL;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.STRING_NULL;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_BYTES;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_ENUM;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_EXTERNALIZABLE;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_MESSAGE;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_NULL;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_SERIALIZABLE;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_STRING;
+
+import io.scalecube.cluster.transport.api.Message;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Constructor;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of {@link ObjectInput} which reads objects written by {@link BinaryObjectOutput}
+ * from {@link ByteBuffer}. Throws {@link java.nio.BufferUnderflowException} if buffer has not
+ * enough bytes remaining.
+ */
+final class BinaryObjectInput implements ObjectInput {
+
+  private static final Map<String, Constructor<? extends Externalizable>> CONSTRUCTORS =
+      new ConcurrentHashMap<>();
+
+  private final ByteBuffer buffer;
+
+  BinaryObjectInput(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * Reads message headers and data.
+   *
+   * @return message
+   * @throws IOException in case of I/O error or malformed input
+   * @throws ClassNotFoundException if class of data can't be found
+   */
+  Message readMessage() throws IOException, ClassNotFoundException {
+    return readHeaders().data(readObject()).build();
+  }
+
+  /**
+   * Reads message headers, while data is copied as is and read on first {@link Message#data()}
+   * access.
+   *
+   * @return message
+   * @throws IOException in case of I/O error or malformed input
+   */
+  Message readMessageLazily() throws IOException {
+    Message.Builder builder = readHeaders();
+    if (!buffer.hasRemaining()) {
+      throw new BufferUnderflowException();
+    }
+    if (buffer.get(buffer.position()) == TYPE_NULL) {
+      buffer.get();
+      return builder.build();
+    }
+    byte[] data = new byte[buffer.remaining()];
+    buffer.get(data);
+    return builder.lazyData(() -> readData(data)).build();
+  }
+
+  private static Object readData(byte[] data) throws IOException, ClassNotFoundException {
+    try {
+      return new BinaryObjectInput(ByteBuffer.wrap(data)).readObject();
+    } catch (BufferUnderflowException e) {
+      throw new EOFException("Unexpected end of message data");
+    }
+  }
+
+  private Message.Builder readHeaders() throws IOException {
+    Message.Builder builder = Message.builder();
+    int headersSize = readVarInt();
+    for (int i = 0; i < headersSize; i++) {
+      String name = readString();
+      if (name == null) {
+        throw new StreamCorruptedException("Header name is null");
+      }
+      builder.header(name, readString()); // value is nullable
+    }
+    return builder;
+  }
+
+  /**
+   * Reads unsigned variable-length int written by {@link BinaryObjectOutput#writeVarInt(int)}.
+   *
+   * @return value
+   * @throws IOException in case of I/O error or malformed input
+   */
+  int readVarInt() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new StreamCorruptedException("Malformed varint");
+  }
+
+  /**
+   * Reads nullable string written by {@link BinaryObjectOutput#writeString(String)}.
+   *
+   * @return string
+   * @throws IOException in case of I/O error or malformed input
+   */
+  String readString() throws IOException {
+    int code = readVarInt();
+    if (code == STRING_NULL) {
+      return null;
+    }
+    if (code == STRING_LITERAL) {
+      int length = readLength();
+      if (buffer.hasArray()) {
+        String value =
+            new String(
+                buffer.array(),
+                buffer.arrayOffset() + buffer.position(),
+                length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+      }
+      byte[] bytes = new byte[length];
+      buffer.get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+    String value = BinaryFormat.entry(code - STRING_DICTIONARY_OFFSET);
+    if (value == null) {
+      throw new StreamCorruptedException("Unknown dictionary entry: " + code);
+    }
+    return value;
+  }
+
+  @Override
+  public Object readObject() throws IOException, ClassNotFoundException {
+    if (!buffer.hasRemaining()) {
+      // Lets Externalizable tell end of data from null, the same way as ObjectInputStream does
+      throw new EOFException("End of data");
+    }
+    int type = readUnsignedByte();
+    switch (type) {
+      case TYPE_NULL:
+        return null;
+      case TYPE_STRING:
+        return readString();
+      case TYPE_BYTES:
+        byte[] bytes = new byte[readLength()];
+        readFully(bytes);
+        return bytes;
+      case TYPE_MESSAGE:
+        return readMessage();
+      case TYPE_ENUM:
+        return readEnum();
+      case TYPE_EXTERNALIZABLE:
+        Externalizable obj = newInstance(readClassName());
+        obj.readExternal(this);
+        return obj;
+      case TYPE_SERIALIZABLE:
+        byte[] serialized = new byte[readLength()];
+        buffer.get(serialized);
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+          return ois.readObject();
+        }
+      default:
+        throw new StreamCorruptedException("Unknown type: " + type);
+    }
+  }
+
+  // Length is checked against remaining bytes, so that malformed one doesn't make huge allocation
+  private int readLength() throws IOException {
+    int length = readVarInt();
+    if (length < 0) {
+      throw new StreamCorruptedException("Negative length: " + length);
+    }
+    if (length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    return length;
+  }
+
+  private String readClassName() throws IOException {
+    String className = readString();
+    if (className == null) {
+      throw new StreamCorruptedException("Class name is null");
+    }
+    return className;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Object readEnum() throws IOException, ClassNotFoundException {
+    String className = readClassName();
+    String name = readString();
+    Class<?> clazz = loadClass(className);
+    if (!clazz.isEnum()) {
+      throw new InvalidClassException(className, "Not an enum");
+    }
+    try {
+      return Enum.valueOf((Class<? extends Enum>) clazz, name);
+    } catch (Exception e) {
+      throw new InvalidClassException(className, "Unknown enum constant: " + name);
+    }
+  }
+
+  private static Externalizable newInstance(String className)
+      throws IOException, ClassNotFoundException {
+    Constructor<? extends Externalizable> constructor = CONSTRUCTORS.get(className);
+    if (constructor == null) {
+      Class<?> clazz = loadClass(className);
+      if (!Externalizable.class.isAssignableFrom(clazz)) {
+        throw new InvalidClassException(className, "Not an externalizable");
+      }
+      try {
+        constructor = clazz.asSubclass(Externalizable.class).getDeclaredConstructor();
+        constructor.setAccessible(true);
+      } catch (Exception e) {
+        throw new InvalidClassException(className, "No accessible no-arg constructor");
+      }
+      CONSTRUCTORS.putIfAbsent(className, constructor);
+    }
+    try {
+      return constructor.newInstance();
+    } catch (Exception e) {
+      throw new InvalidClassException(className, "Failed to instantiate: " + e);
+    }
+  }
+
+  private static Class<?> loadClass(String className) throws ClassNotFoundException {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    if (classLoader == null) {
+      classLoader = BinaryObjectInput.class.getClassLoader();
+    }
+    return Class.forName(className, false, classLoader);
+  }
+
+  @Override
+  public String readUTF() throws IOException {
+    String value = readString();
+    if (value == null) {
+      throw new StreamCorruptedException("String is null");
+    }
+    return value;
+  }
+
+  @Override
+  public int read() {
+    return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+  }
+
+  @Override
+  public int read(byte[] b) {
+    return read(b, 0, b.length);
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) {
+    if (len == 0) {
+      return 0;
+    }
+    if (!buffer.hasRemaining()) {
+      return -1;
+    }
+    int n = Math.min(len, buffer.remaining());
+    buffer.get(b, off, n);
+    return n;
+  }
+
+  @Override
+  public long skip(long n) {
+    int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+    buffer.position(buffer.position() + skipped);
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return buffer.remaining();
+  }
+
+  @Override
+  public void readFully(byte[] b) {
+    buffer.get(b);
+  }
+
+  @Override
+  public void readFully(byte[] b, int off, int len) {
+    buffer.get(b, off, len);
+  }
+
+  @Override
+  public int skipBytes(int n) {
+    return (int) skip(n);
+  }
+
+  @Override
+  public boolean readBoolean() {
+    return buffer.get() != 0;
+  }
+
+  @Override
+  public byte readByte() {
+    return buffer.get();
+  }
+
+  @Override
+  public int readUnsignedByte() {
+    return buffer.get() & 0xFF;
+  }
+
+  @Override
+  public short readShort() {
+    return buffer.getShort();
+  }
+
+  @Override
+  public int readUnsignedShort() {
+    return buffer.getShort() & 0xFFFF;
+  }
+
+  @Override
+  public char readChar() {
+    return buffer.getChar();
+  }
+
+  @Override
+  public int readInt() {
+    return buffer.getInt();
+  }
+
+  @Override
+  public long readLong() {
+    return buffer.getLong();
+  }
+
+  @Override
+  public float readFloat() {
+    return buffer.getFloat();
+  }
+
+  @Override
+  public double readDouble() {
+    return buffer.getDouble();
+  }
+
+  /**
+   * Reads line of bytes the same way as {@link java.io.DataInputStream#readLine()} does, i.e.
+   * every byte is converted into char, line is terminated by {@code \n}, {@code \r}, {@code
+   * \r\n} or end of data.
+   *
+   * @return line without terminator, or null if end of data is reached before any byte is read
+   */
+  @Override
+  public String readLine() {
+    if (!buffer.hasRemaining()) {
+      return null;
+    }
+    StringBuilder line = new StringBuilder();
+    while (buffer.hasRemaining()) {
+      int c = buffer.get() & 0xFF;
+      if (c == '\n') {
+        break;
+      }
+      if (c == '\r') {
+        if (buffer.hasRemaining() && buffer.get(buffer.position()) == '\n') {
+          buffer.get();
+        }
+        break;
+      }
+      line.append((char) c);
+    }
+    return line.toString();
+  }
+
+  @Override
+  public void close() {
+    // no-op
+  }
+}
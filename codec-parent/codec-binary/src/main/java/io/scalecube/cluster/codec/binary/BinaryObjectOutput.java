@@ -0,0 +1,231 @@
+package io.scalecube.cluster.codec.binary;
+
+import static io.scalecube.cluster.codec.binary.BinaryFormat.STRING_DICTIONARY_OFFSET;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.STRING_LITERAL;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.STRING_NULL;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_BYTES;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_ENUM;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_EXTERNALIZABLE;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_MESSAGE;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_NULL;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_SERIALIZABLE;
+import static io.scalecube.cluster.codec.binary.BinaryFormat.TYPE_STRING;
+
+import io.scalecube.cluster.transport.api.Message;
+import java.io.ByteArrayOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Implementation of {@link ObjectOutput} which writes objects in {@link BinaryFormat} into {@link
+ * ByteBuffer}. Being passed to {@link Externalizable#writeExternal(ObjectOutput)} it lets nested
+ * objects be written without class descriptors. Throws {@link java.nio.BufferOverflowException}
+ * if buffer has not enough space remaining.
+ */
+final class BinaryObjectOutput implements ObjectOutput {
+
+  private final ByteBuffer buffer;
+
+  BinaryObjectOutput(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * Writes message headers and data.
+   *
+   * @param message message
+   * @throws IOException in case of I/O error
+   */
+  void writeMessage(Message message) throws IOException {
+    // headers
+    String qualifier = message.qualifier();
+    String correlationId = message.correlationId();
+    String sender = message.header(Message.HEADER_SENDER);
+    Map<String, String> headers = message.userHeaders();
+    writeVarInt(
+        headers.size()
+            + (qualifier != null ? 1 : 0)
+            + (correlationId != null ? 1 : 0)
+            + (sender != null ? 1 : 0));
+    writeHeader(Message.HEADER_QUALIFIER, qualifier);
+    writeHeader(Message.HEADER_CORRELATION_ID, correlationId);
+    writeHeader(Message.HEADER_SENDER, sender);
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      writeString(header.getKey());
+      writeString(header.getValue()); // value is nullable
+    }
+    // data
+    writeObject(message.data());
+  }
+
+  private void writeHeader(String name, String value) throws IOException {
+    if (value != null) {
+      writeString(name);
+      writeString(value);
+    }
+  }
+
+  /**
+   * Writes unsigned variable-length int, 7 bits per byte.
+   *
+   * @param value value
+   * @throws IOException in case of I/O error
+   */
+  void writeVarInt(int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  /**
+   * Writes nullable string, either as reference to dictionary entry or as literal.
+   *
+   * @param value string
+   * @throws IOException in case of I/O error
+   */
+  void writeString(String value) throws IOException {
+    if (value == null) {
+      writeVarInt(STRING_NULL);
+      return;
+    }
+    int index = BinaryFormat.indexOf(value);
+    if (index >= 0) {
+      writeVarInt(index + STRING_DICTIONARY_OFFSET);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(STRING_LITERAL);
+    writeVarInt(bytes.length);
+    write(bytes);
+  }
+
+  @Override
+  public void writeObject(Object obj) throws IOException {
+    if (obj == null) {
+      writeByte(TYPE_NULL);
+    } else if (obj instanceof String) {
+      writeByte(TYPE_STRING);
+      writeString((String) obj);
+    } else if (obj instanceof byte[]) {
+      byte[] bytes = (byte[]) obj;
+      writeByte(TYPE_BYTES);
+      writeVarInt(bytes.length);
+      write(bytes);
+    } else if (obj instanceof Message) {
+      writeByte(TYPE_MESSAGE);
+      writeMessage((Message) obj);
+    } else if (obj instanceof Enum) {
+      Enum<?> value = (Enum<?>) obj;
+      writeByte(TYPE_ENUM);
+      writeString(value.getDeclaringClass().getName());
+      writeString(value.name());
+    } else if (obj instanceof Externalizable) {
+      writeByte(TYPE_EXTERNALIZABLE);
+      writeString(obj.getClass().getName());
+      ((Externalizable) obj).writeExternal(this);
+    } else if (obj instanceof Serializable) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+        oos.writeObject(obj);
+      }
+      writeByte(TYPE_SERIALIZABLE);
+      writeVarInt(bytes.size());
+      write(bytes.toByteArray());
+    } else {
+      throw new NotSerializableException(obj.getClass().getName());
+    }
+  }
+
+  @Override
+  public void writeUTF(String s) throws IOException {
+    writeString(s);
+  }
+
+  @Override
+  public void write(int b) {
+    buffer.put((byte) b);
+  }
+
+  @Override
+  public void write(byte[] b) {
+    buffer.put(b);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+    buffer.put(b, off, len);
+  }
+
+  @Override
+  public void writeBoolean(boolean v) {
+    buffer.put((byte) (v ? 1 : 0));
+  }
+
+  @Override
+  public void writeByte(int v) {
+    buffer.put((byte) v);
+  }
+
+  @Override
+  public void writeShort(int v) {
+    buffer.putShort((short) v);
+  }
+
+  @Override
+  public void writeChar(int v) {
+    buffer.putChar((char) v);
+  }
+
+  @Override
+  public void writeInt(int v) {
+    buffer.putInt(v);
+  }
+
+  @Override
+  public void writeLong(long v) {
+    buffer.putLong(v);
+  }
+
+  @Override
+  public void writeFloat(float v) {
+    buffer.putFloat(v);
+  }
+
+  @Override
+  public void writeDouble(double v) {
+    buffer.putDouble(v);
+  }
+
+  @Override
+  public void writeBytes(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      buffer.put((byte) s.charAt(i));
+    }
+  }
+
+  @Override
+  public void writeChars(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      buffer.putChar(s.charAt(i));
+    }
+  }
+
+  @Override
+  public void flush() {
+    // no-op
+  }
+
+  @Override
+  public void close() {
+    // no-op
+  }
+}
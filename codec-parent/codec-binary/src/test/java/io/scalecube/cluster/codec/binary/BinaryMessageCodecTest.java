@@ -0,0 +1,257 @@
+package io.scalecube.cluster.codec.binary;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.cluster.Member;
+import io.scalecube.cluster.transport.api.JdkMessageCodec;
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.cluster.transport.api.MessageCodec;
+import io.scalecube.net.Address;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class BinaryMessageCodecTest {
+
+  private static final BinaryMessageCodec messageCodec = new BinaryMessageCodec();
+
+  private static final Member MEMBER =
+      new Member("member-1", "alias", Address.create("localhost", 4801), "ns");
+
+  @Test
+  void serializeAndDeserializeHeaders() throws Exception {
+    Message to =
+        Message.builder()
+            .qualifier("sc/fdetector/ping")
+            .correlationId("cid-1")
+            .sender(Address.create("localhost", 4801))
+            .header("custom", null)
+            .build();
+
+    Message from = roundTrip(to);
+
+    assertEquals(to.headers(), from.headers());
+    assertNull(from.data());
+  }
+
+  @Test
+  void serializeAndDeserializeManyHeaders() throws Exception {
+    Map<String, String> headers = new HashMap<>();
+    for (int i = 0; i < 12; i++) {
+      headers.put("header-" + i, "value-" + i);
+    }
+    Message to = Message.withHeaders(headers).header("header-0", "changed").build();
+    headers.put("header-0", "changed");
+
+    Message from = roundTrip(to);
+
+    assertEquals(headers, from.userHeaders());
+    assertEquals("value-11", from.header("header-11"));
+  }
+
+  @Test
+  void copiedMessageHeadersAreNotChanged() throws Exception {
+    Message message = roundTrip(Message.withQualifier("app/q").header("a", "1").build());
+    Message.Builder builder = Message.with(message).header("a", "2").header("b", "3");
+    Message copy = builder.build();
+    Message secondCopy = builder.header("b", null).build();
+
+    assertEquals(Collections.singletonMap("a", "1"), message.userHeaders());
+    assertEquals("2", copy.header("a"));
+    assertEquals("3", copy.header("b"));
+    assertNull(secondCopy.header("b"));
+    assertTrue(secondCopy.userHeaders().containsKey("b"));
+    assertEquals(2, copy.userHeaders().size());
+  }
+
+  @Test
+  void senderIsParsedOnceAndKeptOnCopy() throws Exception {
+    Address address = Address.create("10.0.0.1", 4801);
+    Message from = roundTrip(Message.withData("hello").sender(address).build());
+    Address sender = from.sender();
+
+    assertEquals(address, sender);
+    assertSame(sender, from.sender());
+    assertSame(sender, Message.with(from).qualifier("app/q").build().sender());
+  }
+
+  @Test
+  void serializeAndDeserializeStringAndBytes() throws Exception {
+    assertEquals("hello", roundTrip(Message.fromData("hello")).data());
+
+    byte[] bytes = "hello".getBytes();
+    assertArrayEquals(bytes, roundTrip(Message.fromData(bytes)).data());
+  }
+
+  @Test
+  void serializeAndDeserializeExternalizable() throws Exception {
+    Message from = roundTrip(Message.withData(MEMBER).qualifier("app/member").build());
+
+    assertEquals("app/member", from.qualifier());
+    assertEquals(MEMBER, from.data());
+  }
+
+  @Test
+  void serializeAndDeserializeNestedMessageAndEnum() throws Exception {
+    Message nested = Message.withData(Status.ALIVE).qualifier("sc/membership/gossip").build();
+
+    Message from = roundTrip(Message.fromData(nested));
+    Message fromNested = from.data();
+
+    assertEquals(nested.headers(), fromNested.headers());
+    assertEquals(Status.ALIVE, fromNested.data());
+  }
+
+  @Test
+  void serializeAndDeserializeSerializable() throws Exception {
+    ArrayList<Integer> data = new ArrayList<>(Arrays.asList(1, 2, 3));
+
+    assertEquals(data, roundTrip(Message.fromData(data)).data());
+  }
+
+  @Test
+  void serializedMessageIsSmallerThanJdk() throws Exception {
+    Message message =
+        Message.withData(MEMBER)
+            .qualifier("sc/fdetector/ping")
+            .correlationId("cid-1")
+            .sender(MEMBER.address())
+            .build();
+
+    int binarySize = serialize(messageCodec, message).length;
+    int jdkSize = serialize(new JdkMessageCodec(), message).length;
+
+    assertTrue(binarySize < jdkSize / 2, "binary: " + binarySize + ", jdk: " + jdkSize);
+  }
+
+  @Test
+  void serializeAndDeserializeDirectByteBuffer() throws Exception {
+    Message to = Message.withData(MEMBER).qualifier("sc/fdetector/ping").build();
+    ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+
+    messageCodec.serialize(to, buffer);
+    buffer.flip();
+    Message from = messageCodec.deserialize(buffer);
+
+    assertEquals(to.headers(), from.headers());
+    assertEquals(MEMBER, from.data());
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  void serializeIntoSmallByteBuffer() {
+    Message message = Message.withData(MEMBER).qualifier("sc/fdetector/ping").build();
+
+    assertThrows(
+        BufferOverflowException.class, () -> messageCodec.serialize(message, ByteBuffer.allocate(8)));
+  }
+
+  @Test
+  void deserializeTruncatedByteBuffer() throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocate(1024);
+    messageCodec.serialize(Message.withData(MEMBER).build(), buffer);
+    buffer.flip();
+    buffer.limit(buffer.limit() - 1);
+
+    assertThrows(EOFException.class, () -> messageCodec.deserialize(buffer));
+  }
+
+  @Test
+  void deserializeLazily() throws Exception {
+    ByteBuffer buffer = serializeToBuffer(Message.withData(MEMBER).qualifier("app/member").build());
+
+    Message from = messageCodec.deserializeLazily(buffer);
+    // Data doesn't refer to the buffer
+    buffer.clear();
+    buffer.put(new byte[buffer.capacity()]);
+
+    assertEquals("app/member", from.qualifier());
+    assertEquals(MEMBER, from.data());
+    assertNull(messageCodec.deserializeLazily(serializeToBuffer(Message.fromQualifier("q"))).data());
+  }
+
+  @Test
+  void deserializeLazilyTruncatedData() throws Exception {
+    ByteBuffer buffer = serializeToBuffer(Message.withData(MEMBER).build());
+    buffer.limit(buffer.limit() - 1);
+
+    Message from = messageCodec.deserializeLazily(buffer);
+
+    IllegalStateException e = assertThrows(IllegalStateException.class, from::data);
+    assertEquals(EOFException.class, e.getCause().getClass());
+    // Message with malformed data may still be logged
+    assertTrue(from.toString().contains("data=<malformed: " + EOFException.class.getName()));
+  }
+
+  @Test
+  void deserializeMalformedLength() {
+    // Length of Integer.MAX_VALUE as varint, followed by few bytes only
+    byte[] length = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 1, 2, 3};
+    for (byte type : new byte[] {BinaryFormat.TYPE_BYTES, BinaryFormat.TYPE_SERIALIZABLE}) {
+      ByteBuffer buffer = ByteBuffer.allocate(1 + length.length).put(type).put(length);
+      buffer.flip();
+      BinaryObjectInput input = new BinaryObjectInput(buffer);
+
+      assertThrows(BufferUnderflowException.class, input::readObject);
+    }
+  }
+
+  @Test
+  void readLine() {
+    byte[] bytes = "first\nsecond\r\nthird\rlast".getBytes(StandardCharsets.ISO_8859_1);
+    BinaryObjectInput input = new BinaryObjectInput(ByteBuffer.wrap(bytes));
+
+    assertEquals("first", input.readLine());
+    assertEquals("second", input.readLine());
+    assertEquals("third", input.readLine());
+    assertEquals("last", input.readLine());
+    assertNull(input.readLine());
+  }
+
+  @Test
+  void deserializeUnsupportedVersion() {
+    assertThrows(
+        StreamCorruptedException.class,
+        () -> messageCodec.deserialize(new ByteArrayInputStream(new byte[] {42})));
+  }
+
+  private static Message roundTrip(Message message) throws Exception {
+    byte[] bytes = serialize(messageCodec, message);
+    return messageCodec.deserialize(new ByteArrayInputStream(bytes));
+  }
+
+  private static ByteBuffer serializeToBuffer(Message message) throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocate(1024);
+    messageCodec.serialize(message, buffer);
+    buffer.flip();
+    return buffer;
+  }
+
+  private static byte[] serialize(MessageCodec codec, Message message) throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    codec.serialize(message, output);
+    return output.toByteArray();
+  }
+
+  enum Status {
+    ALIVE,
+    DEAD
+  }
+}
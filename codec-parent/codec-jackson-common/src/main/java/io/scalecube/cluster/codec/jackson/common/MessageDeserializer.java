@@ -0,0 +1,55 @@
+package io.scalecube.cluster.codec.jackson.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import io.scalecube.cluster.transport.api.Message;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deserializes {@link Message} written by {@link MessageSerializer}, well-known headers are set to
+ * typed fields of message.
+ */
+final class MessageDeserializer extends StdDeserializer<Message> {
+
+  MessageDeserializer() {
+    super(Message.class);
+  }
+
+  @Override
+  public Message deserialize(JsonParser parser, DeserializationContext context)
+      throws IOException {
+    Message.Builder builder = Message.builder();
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.START_OBJECT) {
+      token = parser.nextToken();
+    }
+    for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+      String name = parser.getCurrentName();
+      parser.nextToken();
+      switch (name) {
+        case "headers":
+          JavaType headersType =
+              context.getTypeFactory().constructMapType(HashMap.class, String.class, String.class);
+          Map<String, String> headers = context.readValue(parser, headersType);
+          if (headers != null) {
+            builder.headers(headers);
+          }
+          break;
+        case "data":
+          builder.data(
+              context
+                  .findRootValueDeserializer(context.constructType(Object.class))
+                  .deserialize(parser, context));
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,20 @@
+package io.scalecube.cluster.codec.jackson.common;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.scalecube.cluster.transport.api.Message;
+
+/**
+ * Jackson module which serializes {@link Message} as object with {@code headers} map and {@code
+ * data} of any type. Shared by JSON and Smile codecs, so that they keep the same message shape.
+ */
+public final class MessageModule extends SimpleModule {
+
+  private static final long serialVersionUID = 1L;
+
+  /** Constructor. */
+  public MessageModule() {
+    super(MessageModule.class.getSimpleName());
+    addSerializer(Message.class, new MessageSerializer());
+    addDeserializer(Message.class, new MessageDeserializer());
+  }
+}
@@ -0,0 +1,73 @@
+package io.scalecube.cluster.codec.jackson.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.scalecube.cluster.transport.api.Message;
+import java.io.IOException;
+import java.util.Map.Entry;
+
+/**
+ * Serializes {@link Message} as object with {@code headers} map (all headers, including well-known
+ * ones) and {@code data} of any type, regardless of how message keeps them internally.
+ */
+final class MessageSerializer extends StdSerializer<Message> {
+
+  MessageSerializer() {
+    super(Message.class);
+  }
+
+  @Override
+  public void serialize(Message message, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    gen.writeStartObject(message);
+    writeFields(message, gen, provider);
+    gen.writeEndObject();
+  }
+
+  @Override
+  public void serializeWithType(
+      Message message, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+      throws IOException {
+    WritableTypeId typeId =
+        typeSer.writeTypePrefix(gen, typeSer.typeId(message, JsonToken.START_OBJECT));
+    writeFields(message, gen, provider);
+    typeSer.writeTypeSuffix(gen, typeId);
+  }
+
+  private static void writeFields(Message message, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    // Headers are written one by one rather than by means of Message.headers() map built on demand
+    gen.writeObjectFieldStart("headers");
+    writeHeader(gen, Message.HEADER_QUALIFIER, message.qualifier());
+    writeHeader(gen, Message.HEADER_CORRELATION_ID, message.correlationId());
+    writeHeader(gen, Message.HEADER_SENDER, message.header(Message.HEADER_SENDER));
+    for (Entry<String, String> header : message.userHeaders().entrySet()) {
+      gen.writeStringField(header.getKey(), header.getValue()); // value is nullable
+    }
+    gen.writeEndObject();
+    Object data = message.data();
+    if (data != null) {
+      // Data is written the same way as property of Object type, i.e. with type info if enabled
+      gen.writeFieldName("data");
+      TypeSerializer typeSer = provider.findTypeSerializer(provider.constructType(Object.class));
+      JsonSerializer<Object> valueSer = provider.findValueSerializer(data.getClass());
+      if (typeSer != null) {
+        valueSer.serializeWithType(data, gen, provider, typeSer);
+      } else {
+        valueSer.serialize(data, gen, provider);
+      }
+    }
+  }
+
+  private static void writeHeader(JsonGenerator gen, String name, String value)
+      throws IOException {
+    if (value != null) {
+      gen.writeStringField(name, value);
+    }
+  }
+}
@@ -10,6 +10,7 @@
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.scalecube.cluster.codec.jackson.common.MessageModule;
 
 final class DefaultObjectMapper {
 
@@ -32,6 +33,7 @@ private static ObjectMapper initMapper() {
         LaissezFaireSubTypeValidator.instance,
         DefaultTyping.JAVA_LANG_OBJECT,
         JsonTypeInfo.As.WRAPPER_OBJECT);
+    mapper.registerModule(new MessageModule());
     mapper.findAndRegisterModules();
     return mapper;
   }
@@ -9,6 +9,7 @@
 import com.fasterxml.jackson.databind.ObjectMapper.DefaultTyping;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import io.scalecube.cluster.codec.jackson.common.MessageModule;
 
 final class DefaultObjectMapper {
 
@@ -31,6 +32,7 @@ private static ObjectMapper initMapper() {
         LaissezFaireSubTypeValidator.instance,
         DefaultTyping.JAVA_LANG_OBJECT,
         JsonTypeInfo.As.WRAPPER_OBJECT);
+    mapper.registerModule(new MessageModule());
     mapper.findAndRegisterModules();
     return mapper;
   }
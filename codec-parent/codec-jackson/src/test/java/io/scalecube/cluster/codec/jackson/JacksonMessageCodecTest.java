@@ -5,6 +5,7 @@
 
 import io.scalecube.cluster.transport.api.Message;
 import io.scalecube.cluster.transport.api.MessageCodec;
+import io.scalecube.net.Address;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
@@ -189,6 +190,28 @@ void serializeAndDeserializeByteBufferWithoutEntity() throws Exception {
     assertArrayEquals(bytes, byteBuffer.array());
   }
 
+  @Test
+  void serializeAndDeserializeHeadersAndNestedMessage() throws Exception {
+    Message nested = Message.withData("hello").qualifier("app/nested").header("k", "v").build();
+    Message to =
+        Message.withData(nested)
+            .qualifier("app/q")
+            .correlationId("cid-1")
+            .sender(Address.create("10.0.0.1", 4801))
+            .build();
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    messageCodec.serialize(to, output);
+
+    Message from = messageCodec.deserialize(new ByteArrayInputStream(output.toByteArray()));
+    Message fromNested = from.data();
+
+    assertEquals(to.headers(), from.headers());
+    assertEquals(Address.create("10.0.0.1", 4801), from.sender());
+    assertEquals(nested.headers(), fromNested.headers());
+    assertEquals("hello", fromNested.data());
+  }
+
   static final class Entity {
     private ByteBuffer metadata;
 
@@ -0,0 +1,126 @@
+package io.scalecube.cluster.transport.api;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable map of message headers kept in array of alternating names and values. Messages carry
+ * only a handful of headers, so linear lookup over the array is cheaper than hashing and takes
+ * neither entry nor table allocations. Header sets bigger than {@link #MAX_SIZE} are kept in hash
+ * map instead. Null values are allowed, null names are not.
+ */
+final class ArrayHeaders extends AbstractMap<String, String> {
+
+  /** Max number of headers kept in array. */
+  static final int MAX_SIZE = 8;
+
+  private final String[] namesAndValues;
+  private final int size;
+
+  private ArrayHeaders(String[] namesAndValues, int size) {
+    this.namesAndValues = namesAndValues;
+    this.size = size;
+  }
+
+  /**
+   * Returns immutable headers map over given array of alternating names and values. Array is not
+   * copied when it fits in {@link #MAX_SIZE}, so caller must not change it afterwards.
+   *
+   * @param namesAndValues array of alternating names and values, may be longer than needed
+   * @param size number of headers (name-value pairs) in the array
+   * @return immutable headers map
+   */
+  static Map<String, String> of(String[] namesAndValues, int size) {
+    if (size == 0) {
+      return Collections.emptyMap();
+    }
+    if (size <= MAX_SIZE) {
+      return new ArrayHeaders(namesAndValues, size);
+    }
+    Map<String, String> map = new HashMap<>(size * 2);
+    for (int i = 0; i < size * 2; i += 2) {
+      map.put(namesAndValues[i], namesAndValues[i + 1]);
+    }
+    return Collections.unmodifiableMap(map);
+  }
+
+  /**
+   * Returns index of value of given header in array of alternating names and values.
+   *
+   * @param namesAndValues array of alternating names and values
+   * @param size number of headers in the array
+   * @param name header name
+   * @return index of value, or -1 if there is no such header
+   */
+  static int indexOf(String[] namesAndValues, int size, Object name) {
+    for (int i = 0; i < size * 2; i += 2) {
+      if (namesAndValues[i].equals(name)) {
+        return i + 1;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(Object name) {
+    return indexOf(namesAndValues, size, name) >= 0;
+  }
+
+  @Override
+  public String get(Object name) {
+    int i = indexOf(namesAndValues, size, name);
+    return i >= 0 ? namesAndValues[i] : null;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super String> action) {
+    for (int i = 0; i < size * 2; i += 2) {
+      action.accept(namesAndValues[i], namesAndValues[i + 1]);
+    }
+  }
+
+  @Override
+  public Set<Entry<String, String>> entrySet() {
+    return new AbstractSet<Entry<String, String>>() {
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public Iterator<Entry<String, String>> iterator() {
+        return new Iterator<Entry<String, String>>() {
+          private int index;
+
+          @Override
+          public boolean hasNext() {
+            return index < size * 2;
+          }
+
+          @Override
+          public Entry<String, String> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            Entry<String, String> entry =
+                new SimpleImmutableEntry<>(namesAndValues[index], namesAndValues[index + 1]);
+            index += 2;
+            return entry;
+          }
+        };
+      }
+    };
+  }
+}
@@ -0,0 +1,88 @@
+package io.scalecube.cluster.transport.api;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Message codec which works with {@link ByteBuffer} directly. Transport prefers these methods over
+ * stream ones, so codec reads frame content without copying and writes into pooled buffer sized by
+ * {@link #sizeHint(Message)}. Stream methods are implemented on top of buffer ones.
+ */
+public interface ByteBufferMessageCodec extends MessageCodec {
+
+  int DEFAULT_SIZE_HINT = 256;
+
+  /**
+   * Deserializes message from given buffer. Buffer is valid only during this call, so message must
+   * not refer to its content.
+   *
+   * @param buffer buffer, between position and limit
+   * @return message from the buffer
+   */
+  Message deserialize(ByteBuffer buffer) throws Exception;
+
+  @Override
+  default Message deserialize(InputStream stream) throws Exception {
+    byte[] bytes = new byte[Math.max(stream.available(), DEFAULT_SIZE_HINT)];
+    int length = 0;
+    int n;
+    while ((n = stream.read(bytes, length, bytes.length - length)) != -1) {
+      length += n;
+      if (length == bytes.length) {
+        bytes = Arrays.copyOf(bytes, bytes.length << 1);
+      }
+    }
+    return deserialize(ByteBuffer.wrap(bytes, 0, length));
+  }
+
+  /**
+   * Deserializes message headers from given buffer, while message data may be deserialized lazily
+   * on first {@link Message#data()} access (see {@link Message.Builder#lazyData}). Transport
+   * prefers this method, so that routing of inbound message by its headers doesn't pay for data
+   * deserialization. By default deserializes the whole message right away.
+   *
+   * @param buffer buffer, between position and limit; valid only during this call
+   * @return message from the buffer
+   */
+  default Message deserializeLazily(ByteBuffer buffer) throws Exception {
+    return deserialize(buffer);
+  }
+
+  /**
+   * Serializes given message into given buffer starting at its position. Position of the buffer is
+   * advanced by number of written bytes.
+   *
+   * @param message message
+   * @param buffer buffer
+   * @throws BufferOverflowException if buffer has not enough space remaining, in this case caller
+   *     retries with larger buffer
+   */
+  void serialize(Message message, ByteBuffer buffer) throws Exception;
+
+  @Override
+  default void serialize(Message message, OutputStream stream) throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocate(Math.max(sizeHint(message), DEFAULT_SIZE_HINT));
+    while (true) {
+      try {
+        serialize(message, buffer);
+        break;
+      } catch (BufferOverflowException e) {
+        buffer = ByteBuffer.allocate(buffer.capacity() << 1);
+      }
+    }
+    stream.write(buffer.array(), buffer.arrayOffset(), buffer.position());
+  }
+
+  /**
+   * Returns estimated size of serialized message in bytes, used as initial capacity of buffer.
+   *
+   * @param message message
+   * @return estimated size in bytes
+   */
+  default int sizeHint(Message message) {
+    return DEFAULT_SIZE_HINT;
+  }
+}
@@ -5,16 +5,21 @@
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.concurrent.Callable;
 
 /**
  * The Class Message introduces generic protocol used for point to point communication by transport.
+ *
+ * <p>Well-known headers (qualifier, correlation id and sender) are kept in typed fields, generic
+ * map holds only user headers. Sender is kept in the form it was given in (address or header
+ * value), the other form is computed once on demand. Headers map is array-backed and is shared
+ * between message and builders copied from it until builder changes headers.
  */
 public final class Message implements Externalizable {
 
@@ -38,14 +43,25 @@ public final class Message implements Externalizable {
    */
   public static final String HEADER_SENDER = "sender";
 
+  private String qualifier;
+  private String correlationId;
+  private volatile Address sender;
+  private volatile String senderHeader;
   private Map<String, String> headers = Collections.emptyMap();
   private Object data;
+  // Decodes data on first access, then is reset
+  private transient volatile Callable<?> dataDecoder;
 
   public Message() {}
 
   private Message(Builder builder) {
+    this.qualifier = builder.qualifier;
+    this.correlationId = builder.correlationId;
+    this.sender = builder.sender;
+    this.senderHeader = builder.senderHeader;
+    this.headers = builder.buildHeaders();
     this.data = builder.data;
-    this.headers = Collections.unmodifiableMap(Objects.requireNonNull(builder.headers));
+    this.dataDecoder = builder.dataDecoder;
   }
 
   /**
@@ -125,7 +141,19 @@ public static Message from(Message message) {
    * @return a builder with initial data and headers from the message
    */
   public static Builder with(Message message) {
-    return withData(message.data).headers(message.headers);
+    Builder builder = builder();
+    builder.qualifier = message.qualifier;
+    builder.correlationId = message.correlationId;
+    builder.sender = message.sender;
+    builder.senderHeader = message.senderHeader;
+    builder.headers = message.headers; // immutable, copied on write
+    Callable<?> dataDecoder = message.dataDecoder;
+    if (dataDecoder != null) {
+      builder.dataDecoder = dataDecoder;
+    } else {
+      builder.data = message.data;
+    }
+    return builder;
   }
 
   /**
@@ -138,11 +166,41 @@ public static Builder builder() {
   }
 
   /**
-   * Returns the message headers.
+   * Returns all message headers, including well-known ones. Map isn't kept by message, it's built
+   * (and its array of headers allocated) on every call, so avoid it on hot paths: prefer {@link
+   * #header(String)} for single header, typed getters and {@link #userHeaders()}.
    *
    * @return message headers
    */
   public Map<String, String> headers() {
+    String[] namesAndValues = new String[(headers.size() + 3) * 2];
+    int size = 0;
+    if (qualifier != null) {
+      namesAndValues[size++] = HEADER_QUALIFIER;
+      namesAndValues[size++] = qualifier;
+    }
+    if (correlationId != null) {
+      namesAndValues[size++] = HEADER_CORRELATION_ID;
+      namesAndValues[size++] = correlationId;
+    }
+    String senderHeader = senderHeader();
+    if (senderHeader != null) {
+      namesAndValues[size++] = HEADER_SENDER;
+      namesAndValues[size++] = senderHeader;
+    }
+    for (Entry<String, String> header : headers.entrySet()) {
+      namesAndValues[size++] = header.getKey();
+      namesAndValues[size++] = header.getValue();
+    }
+    return ArrayHeaders.of(namesAndValues, size / 2);
+  }
+
+  /**
+   * Returns message headers other than well-known ones (qualifier, correlation id and sender).
+   *
+   * @return user headers
+   */
+  public Map<String, String> userHeaders() {
     return headers;
   }
 
@@ -153,7 +211,16 @@ public Map<String, String> headers() {
    * @return the message header by given header name
    */
   public String header(String name) {
-    return headers.get(name);
+    switch (name) {
+      case HEADER_QUALIFIER:
+        return qualifier;
+      case HEADER_CORRELATION_ID:
+        return correlationId;
+      case HEADER_SENDER:
+        return senderHeader();
+      default:
+        return headers.get(name);
+    }
   }
 
   /**
@@ -162,7 +229,7 @@ public String header(String name) {
    * @return qualifier string
    */
   public String qualifier() {
-    return header(HEADER_QUALIFIER);
+    return qualifier;
   }
 
   /**
@@ -171,7 +238,7 @@ public String qualifier() {
    * @return correlation id
    */
   public String correlationId() {
-    return header(HEADER_CORRELATION_ID);
+    return correlationId;
   }
 
   /**
@@ -179,60 +246,134 @@ public String correlationId() {
    *
    * @param <T> data type
    * @return payload of the message or null if message is without any payload
+   * @throws IllegalStateException if data is decoded lazily (see {@link Builder#lazyData}) and is
+   *     malformed
    */
   public <T> T data() {
+    if (dataDecoder != null) {
+      decodeData();
+    }
     // noinspection unchecked
     return (T) data;
   }
 
+  private synchronized void decodeData() {
+    Callable<?> decoder = dataDecoder;
+    if (decoder != null) {
+      try {
+        data = decoder.call();
+      } catch (Exception e) {
+        throw new IllegalStateException("Failed to decode message data", e);
+      }
+      dataDecoder = null;
+    }
+  }
+
   /**
    * Returns {@link Address} of the sender of this message.
    *
    * @return address
    */
   public Address sender() {
-    return Optional.ofNullable(header(HEADER_SENDER)).map(Address::from).orElse(null);
+    Address sender = this.sender;
+    if (sender == null && senderHeader != null) {
+      this.sender = sender = Address.from(senderHeader);
+    }
+    return sender;
+  }
+
+  private String senderHeader() {
+    String senderHeader = this.senderHeader;
+    if (senderHeader == null && sender != null) {
+      this.senderHeader = senderHeader = sender.toString();
+    }
+    return senderHeader;
   }
 
   @Override
   public String toString() {
     return new StringJoiner(", ", Message.class.getSimpleName() + "[", "]")
+        .add("qualifier=" + qualifier)
+        .add("correlationId=" + correlationId)
+        .add("sender=" + senderHeader())
         .add("headers=" + headers)
-        .add("data=" + data)
+        .add("data=" + dataToString())
         .toString();
   }
 
+  // Never throws, as message may be logged regardless of its data being malformed
+  private String dataToString() {
+    try {
+      return String.valueOf((Object) data());
+    } catch (IllegalStateException e) {
+      return "<malformed: " + e.getCause() + ">";
+    }
+  }
+
   @Override
   public void writeExternal(ObjectOutput out) throws IOException {
     // headers
-    out.writeInt(headers.size());
+    String senderHeader = senderHeader();
+    int headersSize =
+        headers.size()
+            + (qualifier != null ? 1 : 0)
+            + (correlationId != null ? 1 : 0)
+            + (senderHeader != null ? 1 : 0);
+    out.writeInt(headersSize);
+    writeHeader(out, HEADER_QUALIFIER, qualifier);
+    writeHeader(out, HEADER_CORRELATION_ID, correlationId);
+    writeHeader(out, HEADER_SENDER, senderHeader);
     for (Entry<String, String> header : headers.entrySet()) {
       out.writeUTF(header.getKey());
       out.writeObject(header.getValue()); // value is nullable
     }
     // data
+    Object data;
+    try {
+      data = data();
+    } catch (IllegalStateException e) {
+      throw new IOException(e.getMessage(), e.getCause());
+    }
     out.writeObject(data);
   }
 
+  private static void writeHeader(ObjectOutput out, String name, String value) throws IOException {
+    if (value != null) {
+      out.writeUTF(name);
+      out.writeObject(value);
+    }
+  }
+
   @Override
   public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
     // headers
+    Builder builder = builder();
     int headersSize = in.readInt();
-    Map<String, String> headers = new HashMap<>(headersSize);
     for (int i = 0; i < headersSize; i++) {
       String name = in.readUTF();
       String value = (String) in.readObject(); // value is nullable
-      headers.put(name, value);
+      builder.header(name, value);
     }
-    this.headers = Collections.unmodifiableMap(headers);
+    this.qualifier = builder.qualifier;
+    this.correlationId = builder.correlationId;
+    this.senderHeader = builder.senderHeader;
+    this.headers = builder.buildHeaders();
     // data
     data = in.readObject();
   }
 
   public static class Builder {
 
-    private final Map<String, String> headers = new HashMap<>();
+    private String qualifier;
+    private String correlationId;
+    private Address sender;
+    private String senderHeader;
+    // Immutable user headers, null while they are being changed in array below
+    private Map<String, String> headers = Collections.emptyMap();
+    private String[] headerArray;
+    private int headerCount;
     private Object data;
+    private Callable<?> dataDecoder;
 
     private Builder() {}
 
@@ -240,13 +381,29 @@ private Object data() {
       return this.data;
     }
 
+    /**
+     * Setter for data.
+     *
+     * @param data data
+     * @return builder
+     */
     public Builder data(Object data) {
       this.data = data;
+      this.dataDecoder = null;
       return this;
     }
 
-    private Map<String, String> headers() {
-      return this.headers;
+    /**
+     * Setter for data which is decoded on first {@link Message#data()} access, so that messages
+     * nobody reads data of don't pay for its decoding. Decoder is called at most once.
+     *
+     * @param dataDecoder data decoder
+     * @return builder
+     */
+    public Builder lazyData(Callable<?> dataDecoder) {
+      this.data = null;
+      this.dataDecoder = Objects.requireNonNull(dataDecoder, "dataDecoder");
+      return this;
     }
 
     /**
@@ -269,24 +426,76 @@ public Builder headers(Map<String, String> headers) {
      */
     public Builder header(String key, String value) {
       Objects.requireNonNull(key);
-      headers.put(key, value);
-      return this;
+      switch (key) {
+        case HEADER_QUALIFIER:
+          return qualifier(value);
+        case HEADER_CORRELATION_ID:
+          return correlationId(value);
+        case HEADER_SENDER:
+          this.sender = null;
+          this.senderHeader = value;
+          return this;
+        default:
+          putHeader(key, value);
+          return this;
+      }
     }
 
     public Builder qualifier(String qualifier) {
-      return header(HEADER_QUALIFIER, qualifier);
+      this.qualifier = qualifier;
+      return this;
     }
 
     public Builder correlationId(String correlationId) {
-      return header(HEADER_CORRELATION_ID, correlationId);
+      this.correlationId = correlationId;
+      return this;
     }
 
+    /**
+     * Setter for sender.
+     *
+     * @param sender sender address
+     * @return builder
+     */
     public Builder sender(Address sender) {
-      return header(HEADER_SENDER, sender.toString());
+      this.sender = sender;
+      this.senderHeader = null;
+      return this;
     }
 
     public Message build() {
       return new Message(this);
     }
+
+    private void putHeader(String key, String value) {
+      if (headers != null) {
+        // Headers may be shared with a message, so changes go to a copy
+        Map<String, String> initial = headers;
+        headers = null;
+        headerArray = new String[Math.max(initial.size() + 1, 2) * 2];
+        headerCount = 0;
+        initial.forEach(this::putHeader);
+      }
+      int i = ArrayHeaders.indexOf(headerArray, headerCount, key);
+      if (i >= 0) {
+        headerArray[i] = value;
+        return;
+      }
+      if (headerCount * 2 == headerArray.length) {
+        headerArray = Arrays.copyOf(headerArray, headerArray.length * 2);
+      }
+      headerArray[headerCount * 2] = key;
+      headerArray[headerCount * 2 + 1] = value;
+      headerCount++;
+    }
+
+    private Map<String, String> buildHeaders() {
+      if (headers == null) {
+        // Built message owns the array, further changes go to a copy
+        headers = ArrayHeaders.of(headerArray, headerCount);
+        headerArray = null;
+      }
+      return headers;
+    }
   }
 }
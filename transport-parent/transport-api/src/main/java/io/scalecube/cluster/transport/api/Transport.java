@@ -1,6 +1,7 @@
 package io.scalecube.cluster.transport.api;
 
 import io.scalecube.net.Address;
+import java.util.Objects;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -76,4 +77,31 @@ public interface Transport {
    * @return Observable which emit received messages or complete event when transport is closed
    */
   Flux<Message> listen();
+
+  /**
+   * Returns stream of received messages with given qualifier. Unlike {@link #listen()} subscribers
+   * of this stream receive only messages they own, so implementations may dispatch inbound messages
+   * by qualifier instead of broadcasting them to every subscriber. By default filters {@link
+   * #listen()}.
+   *
+   * @param qualifier message qualifier
+   * @return Observable which emit received messages with given qualifier or complete event when
+   *     transport is closed
+   */
+  default Flux<Message> listen(String qualifier) {
+    Objects.requireNonNull(qualifier, "qualifier must be not null");
+    return listen().filter(message -> qualifier.equals(message.qualifier()));
+  }
+
+  /**
+   * Initiates connection(s) to given address ahead of the first message, so that the first message
+   * doesn't pay for connection handshake. By default does nothing, connections are established on
+   * demand.
+   *
+   * @param address address
+   * @return promise which completes once connection is initiated
+   */
+  default Mono<Void> connect(Address address) {
+    return Mono.empty();
+  }
 }
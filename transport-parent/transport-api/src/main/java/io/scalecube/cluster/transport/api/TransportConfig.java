@@ -1,5 +1,8 @@
 package io.scalecube.cluster.transport.api;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.StringJoiner;
 import reactor.core.Exceptions;
 
@@ -14,12 +17,45 @@ public final class TransportConfig implements Cloneable {
   // Local cluster working via loopback interface (overrides default/LAN settings)
   public static final int DEFAULT_LOCAL_CONNECT_TIMEOUT = 1_000;
 
+  // Disabled, requests are pending till response or cancel (e.g. by caller's own timeout)
+  public static final int DEFAULT_REQUEST_TIMEOUT = 0;
+
+  public static final int DEFAULT_WRITE_COALESCING_DELAY = 0;
+  public static final int DEFAULT_WRITE_COALESCING_MAX_BYTES = 64 * 1024;
+
+  public static final int DEFAULT_EVENT_LOOP_COUNT = 1;
+
+  // Fits into ethernet MTU with room for IP/UDP headers and tunnel overhead
+  public static final int DEFAULT_MAX_DATAGRAM_SIZE = 1400;
+
+  public static final int DEFAULT_OUTBOUND_QUEUE_HIGH_WATER_MARK = 1024;
+  public static final int DEFAULT_OUTBOUND_QUEUE_LOW_WATER_MARK = 512;
+
   private int port = 0;
   private boolean isSecured = false; // is client secured
   private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+  private int requestTimeout = DEFAULT_REQUEST_TIMEOUT;
   private MessageCodec messageCodec = MessageCodec.INSTANCE;
   private int maxFrameLength = 2 * 1024 * 1024; // 2 MB
   private TransportFactory transportFactory;
+  private boolean writeCoalescing = false;
+  private int writeCoalescingDelay = DEFAULT_WRITE_COALESCING_DELAY;
+  private int writeCoalescingMaxBytes = DEFAULT_WRITE_COALESCING_MAX_BYTES;
+  private int eventLoopCount = DEFAULT_EVENT_LOOP_COUNT;
+  private boolean preferNative = true;
+  private int outboundQueueHighWaterMark = DEFAULT_OUTBOUND_QUEUE_HIGH_WATER_MARK;
+  private int outboundQueueLowWaterMark = DEFAULT_OUTBOUND_QUEUE_LOW_WATER_MARK;
+  private Set<String> droppableQualifiers = Collections.emptySet();
+  private Set<String> priorityQualifiers = Collections.emptySet();
+  private boolean systemPriorityLane = false;
+  private boolean datagramTransport = false;
+  private Set<String> datagramQualifiers = Collections.emptySet();
+  private int maxDatagramSize = DEFAULT_MAX_DATAGRAM_SIZE;
+  private boolean eagerConnect = false;
+  private int keepAliveInterval = 0;
+  private int connectionIdleTimeout = 0;
+  private int maxConnections = Integer.MAX_VALUE;
+  private int compressionThreshold = 0;
 
   public TransportConfig() {}
 
@@ -102,6 +138,26 @@ public TransportConfig connectTimeout(int connectTimeout) {
     return t;
   }
 
+  public int requestTimeout() {
+    return requestTimeout;
+  }
+
+  /**
+   * Setter for {@code requestTimeout}. Time in milliseconds after which request sent with {@link
+   * Transport#requestResponse(io.scalecube.net.Address, Message)} fails with {@link
+   * java.util.concurrent.TimeoutException} if no response came, so that pending requests are
+   * evicted even if caller doesn't apply timeout on its own; 0 (the default) keeps requests
+   * pending till response or cancel.
+   *
+   * @param requestTimeout request timeout
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig requestTimeout(int requestTimeout) {
+    TransportConfig t = clone();
+    t.requestTimeout = requestTimeout;
+    return t;
+  }
+
   public MessageCodec messageCodec() {
     return messageCodec;
   }
@@ -150,6 +206,327 @@ public TransportConfig transportFactory(TransportFactory transportFactory) {
     return t;
   }
 
+  public boolean isWriteCoalescing() {
+    return writeCoalescing;
+  }
+
+  /**
+   * Setter to denote whether outbound writes are coalesced, i.e. flushed by time or bytes threshold
+   * instead of per message.
+   *
+   * @param writeCoalescing writeCoalescing
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig writeCoalescing(boolean writeCoalescing) {
+    TransportConfig t = clone();
+    t.writeCoalescing = writeCoalescing;
+    return t;
+  }
+
+  public int writeCoalescingDelay() {
+    return writeCoalescingDelay;
+  }
+
+  /**
+   * Setter for {@code writeCoalescingDelay}. Max time in milliseconds a write waits for flush when
+   * write coalescing is on; 0 means flush as soon as event loop has no more queued tasks.
+   *
+   * @param writeCoalescingDelay write coalescing delay
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig writeCoalescingDelay(int writeCoalescingDelay) {
+    TransportConfig t = clone();
+    t.writeCoalescingDelay = writeCoalescingDelay;
+    return t;
+  }
+
+  public int writeCoalescingMaxBytes() {
+    return writeCoalescingMaxBytes;
+  }
+
+  /**
+   * Setter for {@code writeCoalescingMaxBytes}. Number of pending bytes after which writes are
+   * flushed immediately when write coalescing is on.
+   *
+   * @param writeCoalescingMaxBytes write coalescing max bytes
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig writeCoalescingMaxBytes(int writeCoalescingMaxBytes) {
+    TransportConfig t = clone();
+    t.writeCoalescingMaxBytes = writeCoalescingMaxBytes;
+    return t;
+  }
+
+  public int eventLoopCount() {
+    return eventLoopCount;
+  }
+
+  /**
+   * Setter for {@code eventLoopCount}. Number of IO threads serving inbound and outbound
+   * connections of the transport. Not applied if transport runs on shared event loops given to
+   * transport factory.
+   *
+   * @param eventLoopCount event loop count
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig eventLoopCount(int eventLoopCount) {
+    TransportConfig t = clone();
+    t.eventLoopCount = eventLoopCount;
+    return t;
+  }
+
+  public boolean isPreferNative() {
+    return preferNative;
+  }
+
+  /**
+   * Setter to denote whether native transport (epoll on Linux) is used for event loops when it's
+   * available on classpath.
+   *
+   * @param preferNative preferNative
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig preferNative(boolean preferNative) {
+    TransportConfig t = clone();
+    t.preferNative = preferNative;
+    return t;
+  }
+
+  public int outboundQueueHighWaterMark() {
+    return outboundQueueHighWaterMark;
+  }
+
+  /**
+   * Setter for {@code outboundQueueHighWaterMark}. Number of messages queued to one peer after
+   * which outbound queue overflows: messages with droppable qualifiers evict the oldest queued
+   * droppable ones, other messages are rejected with overflow error. Messages sent while connection
+   * to the peer is being established are queued till it's established, and are rejected only once
+   * twice high water mark is reached. Datagrams are queued to each peer separately as well.
+   *
+   * @param outboundQueueHighWaterMark outbound queue high water mark
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig outboundQueueHighWaterMark(int outboundQueueHighWaterMark) {
+    TransportConfig t = clone();
+    t.outboundQueueHighWaterMark = outboundQueueHighWaterMark;
+    return t;
+  }
+
+  public int outboundQueueLowWaterMark() {
+    return outboundQueueLowWaterMark;
+  }
+
+  /**
+   * Setter for {@code outboundQueueLowWaterMark}. Number of messages queued to one peer at which
+   * overflown outbound queue accepts messages again.
+   *
+   * @param outboundQueueLowWaterMark outbound queue low water mark
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig outboundQueueLowWaterMark(int outboundQueueLowWaterMark) {
+    TransportConfig t = clone();
+    t.outboundQueueLowWaterMark = outboundQueueLowWaterMark;
+    return t;
+  }
+
+  public Set<String> droppableQualifiers() {
+    return droppableQualifiers;
+  }
+
+  /**
+   * Setter for {@code droppableQualifiers}. Qualifiers of messages which may be dropped when
+   * outbound queue is overflown, i.e. messages which are periodically resent anyway.
+   *
+   * @param droppableQualifiers droppable qualifiers
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig droppableQualifiers(Set<String> droppableQualifiers) {
+    TransportConfig t = clone();
+    t.droppableQualifiers = Collections.unmodifiableSet(new HashSet<>(droppableQualifiers));
+    return t;
+  }
+
+  public Set<String> priorityQualifiers() {
+    return priorityQualifiers;
+  }
+
+  /**
+   * Setter for {@code priorityQualifiers}. Qualifiers of latency sensitive control messages which
+   * are sent to peer over separate connection, so they never wait behind bulk messages.
+   *
+   * @param priorityQualifiers priority qualifiers
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig priorityQualifiers(Set<String> priorityQualifiers) {
+    TransportConfig t = clone();
+    t.priorityQualifiers = Collections.unmodifiableSet(new HashSet<>(priorityQualifiers));
+    return t;
+  }
+
+  public boolean isSystemPriorityLane() {
+    return systemPriorityLane;
+  }
+
+  /**
+   * Setter to denote whether cluster adds its failure detector messages to {@code
+   * priorityQualifiers}, so that they are sent to peer over separate connection. It doubles number
+   * of outbound connections, and is ignored when {@code datagramTransport} is on, as these messages
+   * are sent in datagrams then.
+   *
+   * @param systemPriorityLane systemPriorityLane
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig systemPriorityLane(boolean systemPriorityLane) {
+    TransportConfig t = clone();
+    t.systemPriorityLane = systemPriorityLane;
+    return t;
+  }
+
+  public boolean isDatagramTransport() {
+    return datagramTransport;
+  }
+
+  /**
+   * Setter to denote whether messages with {@code datagramQualifiers} are sent in datagrams (UDP),
+   * and all other messages over stream connections (TCP). Cluster then binds on {@code
+   * UdpTransportFactory} unless {@code transportFactory} is set. Transport factories which don't
+   * support datagrams (TCP, WebSocket) reject config with this flag set.
+   *
+   * @param datagramTransport datagramTransport
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig datagramTransport(boolean datagramTransport) {
+    TransportConfig t = clone();
+    t.datagramTransport = datagramTransport;
+    return t;
+  }
+
+  public Set<String> datagramQualifiers() {
+    return datagramQualifiers;
+  }
+
+  /**
+   * Setter for {@code datagramQualifiers}. Qualifiers of small loss tolerant messages which are
+   * sent in datagrams if transport supports it (see {@code datagramTransport}).
+   *
+   * @param datagramQualifiers datagram qualifiers
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig datagramQualifiers(Set<String> datagramQualifiers) {
+    TransportConfig t = clone();
+    t.datagramQualifiers = Collections.unmodifiableSet(new HashSet<>(datagramQualifiers));
+    return t;
+  }
+
+  public int maxDatagramSize() {
+    return maxDatagramSize;
+  }
+
+  /**
+   * Setter for {@code maxDatagramSize}. Max encoded size of message sent in datagram, larger
+   * messages are sent over stream connection.
+   *
+   * @param maxDatagramSize max datagram size
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig maxDatagramSize(int maxDatagramSize) {
+    TransportConfig t = clone();
+    t.maxDatagramSize = maxDatagramSize;
+    return t;
+  }
+
+  public boolean isEagerConnect() {
+    return eagerConnect;
+  }
+
+  /**
+   * Setter to denote whether connections to cluster members are established as soon as members
+   * are added to cluster, instead of on the first message.
+   *
+   * @param eagerConnect eagerConnect
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig eagerConnect(boolean eagerConnect) {
+    TransportConfig t = clone();
+    t.eagerConnect = eagerConnect;
+    return t;
+  }
+
+  public int keepAliveInterval() {
+    return keepAliveInterval;
+  }
+
+  /**
+   * Setter for {@code keepAliveInterval}. Time in milliseconds without writes to connection after
+   * which keepalive frame is sent over it, so that idle connections are kept warm; 0 disables
+   * keepalives.
+   *
+   * @param keepAliveInterval keepalive interval
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig keepAliveInterval(int keepAliveInterval) {
+    TransportConfig t = clone();
+    t.keepAliveInterval = keepAliveInterval;
+    return t;
+  }
+
+  public int connectionIdleTimeout() {
+    return connectionIdleTimeout;
+  }
+
+  /**
+   * Setter for {@code connectionIdleTimeout}. Time in milliseconds after which outbound connection
+   * nothing was sent over is closed (keepalives don't count); 0 keeps connections open till they
+   * are closed by peer.
+   *
+   * @param connectionIdleTimeout connection idle timeout
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig connectionIdleTimeout(int connectionIdleTimeout) {
+    TransportConfig t = clone();
+    t.connectionIdleTimeout = connectionIdleTimeout;
+    return t;
+  }
+
+  public int maxConnections() {
+    return maxConnections;
+  }
+
+  /**
+   * Setter for {@code maxConnections}. Max number of outbound connections, once it's exceeded by
+   * new connection least recently used idle connections are closed. Connections with queued
+   * messages are never closed, so the limit may be exceeded till next connection is created (or
+   * till next check of idle connections if {@code connectionIdleTimeout} is set).
+   *
+   * @param maxConnections max number of outbound connections
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig maxConnections(int maxConnections) {
+    TransportConfig t = clone();
+    t.maxConnections = maxConnections;
+    return t;
+  }
+
+  public int compressionThreshold() {
+    return compressionThreshold;
+  }
+
+  /**
+   * Setter for {@code compressionThreshold}. Size in bytes of encoded message from which on it's
+   * compressed before being sent over stream connection; 0 disables compression. Sender announces
+   * compression at the start of connection without waiting for the answer, so peers with threshold
+   * 0 still read compressed frames, but peers of former versions can't read them. Enable it only
+   * once all peers are upgraded.
+   *
+   * @param compressionThreshold compression threshold
+   * @return new {@code TransportConfig} instance
+   */
+  public TransportConfig compressionThreshold(int compressionThreshold) {
+    TransportConfig t = clone();
+    t.compressionThreshold = compressionThreshold;
+    return t;
+  }
+
   @Override
   public TransportConfig clone() {
     try {
@@ -165,9 +542,28 @@ public String toString() {
         .add("port=" + port)
         .add("isSecured=" + isSecured)
         .add("connectTimeout=" + connectTimeout)
+        .add("requestTimeout=" + requestTimeout)
         .add("messageCodec=" + messageCodec)
         .add("maxFrameLength=" + maxFrameLength)
         .add("transportFactory=" + transportFactory)
+        .add("writeCoalescing=" + writeCoalescing)
+        .add("writeCoalescingDelay=" + writeCoalescingDelay)
+        .add("writeCoalescingMaxBytes=" + writeCoalescingMaxBytes)
+        .add("eventLoopCount=" + eventLoopCount)
+        .add("preferNative=" + preferNative)
+        .add("outboundQueueHighWaterMark=" + outboundQueueHighWaterMark)
+        .add("outboundQueueLowWaterMark=" + outboundQueueLowWaterMark)
+        .add("droppableQualifiers=" + droppableQualifiers)
+        .add("priorityQualifiers=" + priorityQualifiers)
+        .add("systemPriorityLane=" + systemPriorityLane)
+        .add("datagramTransport=" + datagramTransport)
+        .add("datagramQualifiers=" + datagramQualifiers)
+        .add("maxDatagramSize=" + maxDatagramSize)
+        .add("eagerConnect=" + eagerConnect)
+        .add("keepAliveInterval=" + keepAliveInterval)
+        .add("connectionIdleTimeout=" + connectionIdleTimeout)
+        .add("maxConnections=" + maxConnections)
+        .add("compressionThreshold=" + compressionThreshold)
         .toString();
   }
 }
@@ -0,0 +1,27 @@
+package io.scalecube.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.scalecube.net.Address;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+
+/** Sender which is also able to send messages in datagrams over channel shared by all peers. */
+public interface DatagramSender extends Sender {
+
+  /**
+   * Returns datagram channel shared by all peers. Channel is available once transport is bound.
+   *
+   * @return datagram channel
+   */
+  Mono<Connection> datagramChannel();
+
+  /**
+   * Sends encoded message in one datagram to given address.
+   *
+   * @param channel datagram channel
+   * @param address recipient address
+   * @param content encoded message, released by this method
+   * @return promise which completes once datagram is written
+   */
+  Mono<Void> sendDatagram(Connection channel, Address address, ByteBuf content);
+}
@@ -0,0 +1,56 @@
+package io.scalecube.transport.netty;
+
+import io.scalecube.cluster.transport.api.Message;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks moving estimate of encoded message size per qualifier. Estimate jumps up to the largest
+ * recent size at once and decays down slowly, so buffers allocated with {@link #sizeHint(Message)}
+ * rarely have to be grown.
+ */
+final class EncodedSizeEstimator {
+
+  static final int DEFAULT_SIZE_HINT = 256;
+
+  // Protects from unbounded growth in case of arbitrary application qualifiers
+  private static final int MAX_QUALIFIERS = 1024;
+
+  private static final String NO_QUALIFIER = "";
+
+  private final Map<String, Integer> estimates = new ConcurrentHashMap<>();
+
+  /**
+   * Returns initial buffer capacity for given message.
+   *
+   * @param message message
+   * @return estimated encoded size with headroom or default hint if no estimate yet
+   */
+  int sizeHint(Message message) {
+    Integer estimate = estimates.get(key(message));
+    return estimate != null ? estimate + (estimate >> 3) : DEFAULT_SIZE_HINT;
+  }
+
+  /**
+   * Updates estimate with actual encoded size of given message.
+   *
+   * @param message message
+   * @param size encoded size in bytes
+   */
+  void record(Message message, int size) {
+    String key = key(message);
+    if (estimates.size() >= MAX_QUALIFIERS && !estimates.containsKey(key)) {
+      return;
+    }
+    estimates.merge(key, size, EncodedSizeEstimator::nextEstimate);
+  }
+
+  private static int nextEstimate(int estimate, int size) {
+    return size > estimate ? size : estimate - ((estimate - size) >> 4);
+  }
+
+  private static String key(Message message) {
+    String qualifier = message.qualifier();
+    return qualifier != null ? qualifier : NO_QUALIFIER;
+  }
+}
@@ -0,0 +1,150 @@
+package io.scalecube.transport.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.compression.DecompressionException;
+import io.netty.handler.codec.compression.Snappy;
+
+/**
+ * Compresses frames of stream connections with Snappy (pure Java implementation shipped with
+ * netty), which trades compression ratio for speed. Once compression is agreed on for connection
+ * every non-empty frame starts with flag byte telling whether the rest of frame is raw or
+ * compressed. Frames smaller than threshold, and frames compression didn't make smaller, are sent
+ * raw. Empty frames (keepalives) are passed as is.
+ *
+ * <p>Compressed frame is a sequence of independently compressed chunks of at most {@link
+ * #CHUNK_SIZE} bytes, each prefixed with its compressed length.
+ */
+public final class FrameCompressor {
+
+  private static final byte RAW = 0;
+  private static final byte SNAPPY = 1;
+
+  // Snappy block encoder supports offsets up to 32 KB only
+  static final int CHUNK_SIZE = 32 * 1024;
+
+  private static final ByteBuf RAW_FLAG =
+      Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(new byte[] {RAW}).asReadOnly());
+
+  private final int threshold;
+  private final int maxFrameLength;
+
+  /**
+   * Constructor.
+   *
+   * @param threshold size of frame from which on it's compressed
+   * @param maxFrameLength max length of decompressed frame
+   */
+  public FrameCompressor(int threshold, int maxFrameLength) {
+    this.threshold = threshold;
+    this.maxFrameLength = maxFrameLength;
+  }
+
+  /**
+   * Encodes given frame. Takes ownership of given frame.
+   *
+   * @param allocator allocator
+   * @param frame frame
+   * @return encoded frame
+   */
+  public ByteBuf encode(ByteBufAllocator allocator, ByteBuf frame) {
+    int length = frame.readableBytes();
+    if (length == 0) {
+      return frame;
+    }
+    if (length >= threshold) {
+      ByteBuf compressed = allocator.buffer(length / 2 + 16);
+      try {
+        compressed.writeByte(SNAPPY);
+        Snappy snappy = new Snappy();
+        for (int offset = 0; offset < length; offset += CHUNK_SIZE) {
+          int chunkSize = Math.min(CHUNK_SIZE, length - offset);
+          int lengthIndex = compressed.writerIndex();
+          compressed.writeShort(0);
+          ByteBuf chunk = frame.slice(frame.readerIndex() + offset, chunkSize);
+          snappy.encode(chunk, compressed, chunkSize);
+          compressed.setShort(lengthIndex, compressed.writerIndex() - lengthIndex - 2);
+          snappy.reset();
+        }
+      } catch (Throwable ex) {
+        compressed.release();
+        frame.release();
+        throw ex;
+      }
+      if (compressed.readableBytes() <= length) {
+        frame.release();
+        return compressed;
+      }
+      // Incompressible, send it raw
+      compressed.release();
+    }
+    return allocator
+        .compositeBuffer(2)
+        .addComponent(true, RAW_FLAG.duplicate())
+        .addComponent(true, frame);
+  }
+
+  /**
+   * Decodes given frame. Takes ownership of given frame.
+   *
+   * @param allocator allocator
+   * @param frame frame
+   * @return decoded frame
+   */
+  public ByteBuf decode(ByteBufAllocator allocator, ByteBuf frame) {
+    if (!frame.isReadable()) {
+      return frame;
+    }
+    byte flag = frame.readByte();
+    if (flag == RAW) {
+      return frame;
+    }
+    try {
+      if (flag != SNAPPY) {
+        throw new DecompressionException("Unknown frame compression: " + flag);
+      }
+      ByteBuf decompressed = allocator.buffer(Math.min(frame.readableBytes() * 2, CHUNK_SIZE));
+      try {
+        Snappy snappy = new Snappy();
+        while (frame.isReadable()) {
+          ByteBuf chunk = frame.readSlice(frame.readUnsignedShort());
+          int chunkSize = decodedLength(chunk);
+          if (chunkSize > CHUNK_SIZE) {
+            throw new DecompressionException("Invalid length of compressed chunk: " + chunkSize);
+          }
+          if (decompressed.writerIndex() + chunkSize > maxFrameLength) {
+            throw new TooLongFrameException(
+                "Decompressed frame length exceeds " + maxFrameLength);
+          }
+          decompressed.ensureWritable(chunkSize);
+          snappy.decode(chunk, decompressed);
+          snappy.reset();
+        }
+      } catch (Throwable ex) {
+        decompressed.release();
+        throw ex;
+      }
+      return decompressed;
+    } finally {
+      frame.release();
+    }
+  }
+
+  // Reads (without consuming) varint length which Snappy puts in front of compressed chunk
+  private static int decodedLength(ByteBuf chunk) {
+    int length = 0;
+    for (int i = 0; i < 3; i++) {
+      if (chunk.readableBytes() <= i) {
+        break;
+      }
+      byte b = chunk.getByte(chunk.readerIndex() + i);
+      length |= (b & 0x7f) << (7 * i);
+      if ((b & 0x80) == 0) {
+        return length;
+      }
+    }
+    throw new DecompressionException("Invalid length of compressed chunk");
+  }
+}
@@ -0,0 +1,411 @@
+package io.scalecube.transport.netty;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.net.Address;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.netty.Connection;
+
+/**
+ * Bounded queue of outbound messages to one peer. Messages are written into connection only while
+ * its channel is writable, the rest wait in the queue. Once queue depth (waiting and written but
+ * not yet flushed messages) reaches high water mark the queue overflows and stays so till depth
+ * falls to low water mark. On overflow message with droppable qualifier evicts the oldest waiting
+ * droppable message (or is dropped itself), any other message is rejected with error once
+ * connection is established. Until then such messages are queued regardless of overflow, as they
+ * are going to be written as soon as connection is established (or failed with connect error), but
+ * only up to twice high water mark, so that peer which never connects doesn't grow the queue
+ * without bound.
+ *
+ * <p>Queue owns connection to the peer: it connects on demand and reconnects once connection is
+ * disposed. When connection is gone and nothing is queued {@code onIdle} callback is invoked so
+ * that owner could evict the queue by means of {@link #closeIfIdle()}. Owner may also evict the
+ * queue together with its connection once nothing was sent over it for a while, by means of {@link
+ * #closeIfIdleSince(long)} followed by {@link #disconnect()}.
+ *
+ * <p>Connection may be shared by queues to many peers (datagram channel), then queue neither
+ * watches nor disposes it: owner drains queues by means of {@link #drain()} once channel is
+ * writable again, and {@code onIdle} callback is invoked as soon as nothing is queued.
+ */
+final class OutboundQueue {
+
+  private static final String WRITABILITY_HANDLER = "sc-outbound-queue";
+
+  private final Address address;
+  private final int highWaterMark;
+  private final int lowWaterMark;
+  private final int maxDepth;
+  private final Set<String> droppableQualifiers;
+  private final Function<Address, Mono<? extends Connection>> connector;
+  private final Writer writer;
+  private final BiConsumer<Address, OutboundQueue> onIdle;
+  private final boolean sharedConnection;
+
+  // Guarded by this
+  private final Deque<Pending> queue = new ArrayDeque<>();
+  private int inflight;
+  private boolean overflow;
+  private boolean connecting;
+  private boolean closed;
+  private boolean disposed;
+
+  private volatile Connection connection;
+  private volatile long lastActiveTime = System.nanoTime();
+  private final AtomicInteger wip = new AtomicInteger();
+
+  private final AtomicLong droppedCount;
+  private final AtomicLong rejectedCount;
+
+  OutboundQueue(
+      Address address,
+      int highWaterMark,
+      int lowWaterMark,
+      Set<String> droppableQualifiers,
+      Function<Address, Mono<? extends Connection>> connector,
+      Writer writer,
+      BiConsumer<Address, OutboundQueue> onIdle,
+      boolean sharedConnection,
+      AtomicLong droppedCount,
+      AtomicLong rejectedCount) {
+    this.address = address;
+    this.highWaterMark = highWaterMark;
+    this.lowWaterMark = lowWaterMark;
+    this.maxDepth = highWaterMark > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : highWaterMark * 2;
+    this.droppableQualifiers = droppableQualifiers;
+    this.connector = connector;
+    this.writer = writer;
+    this.onIdle = onIdle;
+    this.sharedConnection = sharedConnection;
+    this.droppedCount = droppedCount;
+    this.rejectedCount = rejectedCount;
+  }
+
+  /**
+   * Enqueues given message. Sink is completed once message is written, dropped or rejected.
+   *
+   * @param recipient recipient address (differs from address of the queue only if connection is
+   *     shared by many recipients, e.g. datagram channel)
+   * @param message message
+   * @param sink sink
+   * @return false if queue was closed and message was not accepted, true otherwise
+   */
+  boolean offer(Address recipient, Message message, MonoSink<Void> sink) {
+    Pending pending = new Pending(recipient, message, sink);
+
+    Pending dropped = null;
+    synchronized (this) {
+      if (closed) {
+        return false;
+      }
+      if (disposed) {
+        sink.success();
+        return true;
+      }
+      lastActiveTime = System.nanoTime();
+      if (queue.size() + inflight >= highWaterMark) {
+        overflow = true;
+      }
+      if (overflow && !droppableQualifiers.contains(message.qualifier())) {
+        if (isConnected() || queue.size() + inflight >= maxDepth) {
+          rejectedCount.incrementAndGet();
+          sink.error(
+              Exceptions.failWithOverflow("Outbound queue to " + address + " is overflown"));
+          return true;
+        }
+        queue.add(pending);
+      } else if (overflow) {
+        dropped = removeOldestDroppable();
+        if (dropped == null) {
+          // Nothing to evict, drop given message
+          dropped = pending;
+        } else {
+          queue.add(pending);
+        }
+      } else {
+        queue.add(pending);
+      }
+    }
+
+    if (dropped != null) {
+      droppedCount.incrementAndGet();
+      dropped.sink.success();
+    }
+    if (dropped != pending) {
+      sink.onCancel(() -> pending.cancelled = true);
+      drain();
+    }
+    return true;
+  }
+
+  /**
+   * Returns number of messages waiting in the queue or written into connection but not yet
+   * flushed.
+   *
+   * @return queue depth
+   */
+  synchronized int depth() {
+    return queue.size() + inflight;
+  }
+
+  /**
+   * Closes the queue if there is no connection to the peer and nothing is queued. Closed queue
+   * doesn't accept messages anymore.
+   *
+   * @return true if queue is closed
+   */
+  synchronized boolean closeIfIdle() {
+    if (!closed
+        && queue.isEmpty()
+        && inflight == 0
+        && !connecting
+        && (sharedConnection || !isConnected())) {
+      closed = true;
+    }
+    return closed;
+  }
+
+  /**
+   * Returns time (in terms of {@link System#nanoTime()}) when message was offered to the queue last
+   * time.
+   *
+   * @return last active time
+   */
+  long lastActiveTime() {
+    return lastActiveTime;
+  }
+
+  /**
+   * Closes the queue if nothing is queued and no message was offered to it since given time,
+   * regardless of connection to the peer. Connection of closed queue should be disposed by means of
+   * {@link #disconnect()}.
+   *
+   * @param time time in terms of {@link System#nanoTime()}
+   * @return true if queue was closed by this call
+   */
+  synchronized boolean closeIfIdleSince(long time) {
+    if (!closed
+        && queue.isEmpty()
+        && inflight == 0
+        && !connecting
+        && lastActiveTime - time <= 0) {
+      closed = true;
+      return true;
+    }
+    return false;
+  }
+
+  /** Disposes connection to the peer, if any and it's not shared. */
+  void disconnect() {
+    Connection connection = this.connection;
+    if (connection != null && !sharedConnection) {
+      connection.dispose();
+    }
+  }
+
+  /**
+   * Initiates connection to the peer unless it's already established or being established.
+   *
+   * @return false if queue is closed (so caller should retry with new queue), true otherwise
+   */
+  boolean connect() {
+    synchronized (this) {
+      if (closed) {
+        return false;
+      }
+      lastActiveTime = System.nanoTime();
+      if (disposed || connecting || isConnected()) {
+        return true;
+      }
+      connecting = true;
+    }
+    connector.apply(address).subscribe(this::onConnected, this::onConnectError);
+    return true;
+  }
+
+  /** Completes all waiting messages, further messages are completed right away. */
+  void dispose() {
+    List<Pending> waiting;
+    synchronized (this) {
+      disposed = true;
+      waiting = new ArrayList<>(queue);
+      queue.clear();
+    }
+    waiting.forEach(pending -> pending.sink.success());
+  }
+
+  /** Writes waiting messages into connection while it's writable, connects if needed. */
+  void drain() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      Pending pending;
+      while ((pending = poll()) != null) {
+        final Pending written = pending;
+        // Writes are always submitted to event loop (even from event loop itself) to keep order
+        written
+            .connection
+            .channel()
+            .eventLoop()
+            .execute(
+                () ->
+                    writer
+                        .write(written.connection, written.recipient, written.message)
+                        .subscribe(
+                            null, ex -> onWritten(written, ex), () -> onWritten(written, null)));
+      }
+      missed = wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  private Pending poll() {
+    boolean connect = false;
+    try {
+      synchronized (this) {
+        while (!queue.isEmpty()) {
+          if (!isConnected()) {
+            if (!connecting && !disposed) {
+              connecting = connect = true;
+            }
+            return null;
+          }
+          if (!connection.channel().isWritable()) {
+            return null;
+          }
+          Pending pending = queue.poll();
+          if (!pending.cancelled) {
+            pending.connection = connection;
+            inflight++;
+            return pending;
+          }
+        }
+        updateOverflow();
+        return null;
+      }
+    } finally {
+      if (connect) {
+        connector.apply(address).subscribe(this::onConnected, this::onConnectError);
+      }
+    }
+  }
+
+  // Called under lock
+  private boolean isConnected() {
+    return connection != null && !connection.isDisposed();
+  }
+
+  private void onConnected(Connection connection) {
+    if (!sharedConnection) {
+      connection.addHandlerLast(WRITABILITY_HANDLER, new WritabilityHandler());
+      connection.onDispose(
+          () -> {
+            // Reconnect if something is still queued, otherwise let the queue be evicted
+            drain();
+            onIdle.accept(address, this);
+          });
+    }
+    synchronized (this) {
+      connecting = false;
+      this.connection = connection;
+    }
+    drain();
+  }
+
+  private void onConnectError(Throwable ex) {
+    List<Pending> waiting;
+    synchronized (this) {
+      connecting = false;
+      waiting = new ArrayList<>(queue);
+      queue.clear();
+      updateOverflow();
+    }
+    waiting.forEach(pending -> pending.sink.error(ex));
+    onIdle.accept(address, this);
+  }
+
+  private void onWritten(Pending pending, Throwable ex) {
+    boolean idle;
+    synchronized (this) {
+      inflight--;
+      updateOverflow();
+      idle = sharedConnection && queue.isEmpty() && inflight == 0;
+    }
+    if (ex != null) {
+      pending.sink.error(ex);
+    } else {
+      pending.sink.success();
+    }
+    if (idle) {
+      // Queue over shared connection holds nothing once it's empty, so let it be evicted
+      onIdle.accept(address, this);
+    } else {
+      drain();
+    }
+  }
+
+  // Called under lock
+  private void updateOverflow() {
+    if (overflow && queue.size() + inflight <= lowWaterMark) {
+      overflow = false;
+    }
+  }
+
+  // Called under lock
+  private Pending removeOldestDroppable() {
+    for (Iterator<Pending> it = queue.iterator(); it.hasNext(); ) {
+      Pending pending = it.next();
+      if (droppableQualifiers.contains(pending.message.qualifier())) {
+        it.remove();
+        return pending;
+      }
+    }
+    return null;
+  }
+
+  /** Writes message to recipient over given connection. */
+  @FunctionalInterface
+  interface Writer {
+
+    Mono<Void> write(Connection connection, Address recipient, Message message);
+  }
+
+  private static final class Pending {
+
+    private final Address recipient;
+    private final Message message;
+    private final MonoSink<Void> sink;
+    private volatile boolean cancelled;
+    private Connection connection;
+
+    private Pending(Address recipient, Message message, MonoSink<Void> sink) {
+      this.recipient = recipient;
+      this.message = message;
+      this.sink = sink;
+    }
+  }
+
+  private final class WritabilityHandler extends ChannelInboundHandlerAdapter {
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+      if (ctx.channel().isWritable()) {
+        drain();
+      }
+      ctx.fireChannelWritabilityChanged();
+    }
+  }
+}
@@ -10,4 +10,15 @@ public interface Sender {
   Mono<Connection> connect(Address address);
 
   Mono<Void> send(Message message);
+
+  /**
+   * Sends keepalive frame, which is ignored by receiver, over given connection. By default does
+   * nothing.
+   *
+   * @param connection connection
+   * @return promise which completes once keepalive frame is written
+   */
+  default Mono<Void> sendKeepAlive(Connection connection) {
+    return Mono.empty();
+  }
 }
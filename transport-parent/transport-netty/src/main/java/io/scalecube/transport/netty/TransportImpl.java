@@ -4,8 +4,12 @@
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.EncoderException;
+import io.scalecube.cluster.transport.api.ByteBufferMessageCodec;
 import io.scalecube.cluster.transport.api.Message;
 import io.scalecube.cluster.transport.api.MessageCodec;
 import io.scalecube.cluster.transport.api.Transport;
@@ -14,12 +18,23 @@
 import io.scalecube.net.Address;
 import io.scalecube.transport.netty.tcp.TcpTransportFactory;
 import java.net.InetAddress;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Disposable;
@@ -27,9 +42,12 @@
 import reactor.core.Exceptions;
 import reactor.core.publisher.DirectProcessor;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxProcessor;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
 import reactor.netty.Connection;
 import reactor.netty.DisposableServer;
 import reactor.netty.resources.LoopResources;
@@ -38,21 +56,68 @@ public final class TransportImpl implements Transport {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(Transport.class);
 
+  private static final String DATAGRAM_WRITABILITY_HANDLER = "sc-datagram-outbound-queues";
+
   private final MessageCodec messageCodec;
 
+  // Outbound buffers allocation
+  private final ByteBufAllocator allocator;
+  private final EncodedSizeEstimator sizeEstimator = new EncodedSizeEstimator();
+  private final AtomicLong totalEncodedMessageCount = new AtomicLong();
+  private final AtomicLong totalEncodeReallocationCount = new AtomicLong();
+
   // Subject
   private final DirectProcessor<Message> subject = DirectProcessor.create();
   private final FluxSink<Message> sink = subject.sink();
 
+  // Subjects by qualifier
+  private final Map<String, FluxProcessor<Message, Message>> qualifierSubjects =
+      new ConcurrentHashMap<>();
+
+  // Pending requests by correlationId (evicted on response, cancel or timeout of request)
+  private final Map<String, List<MonoSink<Message>>> pendingRequests = new ConcurrentHashMap<>();
+  private final int requestTimeout;
+
   // Close handler
   private final MonoProcessor<Void> stop = MonoProcessor.create();
   private final MonoProcessor<Void> onStop = MonoProcessor.create();
 
+  // Outbound queues by peer address (evicted once connection is gone and nothing is queued)
+  private final Map<Address, OutboundQueue> outboundQueues = new ConcurrentHashMap<>();
+  // Separate queues (and connections) for messages with priority qualifiers
+  private final Map<Address, OutboundQueue> priorityOutboundQueues = new ConcurrentHashMap<>();
+  private final Set<String> priorityQualifiers;
+  // Queues for datagrams by peer address (if sender supports datagrams), all of them share datagram
+  // channel and are evicted once nothing is queued
+  private final Map<Address, OutboundQueue> datagramOutboundQueues = new ConcurrentHashMap<>();
+  private final Set<String> datagramQualifiers;
+  private final int maxDatagramSize;
+  private final AtomicLong totalDatagramCount = new AtomicLong();
+  private final AtomicLong totalDatagramFallbackCount = new AtomicLong();
+  private final int outboundQueueHighWaterMark;
+  private final int outboundQueueLowWaterMark;
+  private final Set<String> droppableQualifiers;
+  private final AtomicLong totalOutboundDroppedCount = new AtomicLong();
+  private final AtomicLong totalOutboundRejectedCount = new AtomicLong();
+
+  // Eviction of idle and least recently used outbound queues (and their connections)
+  private final int connectionIdleTimeout;
+  private final int maxConnections;
+  private final AtomicLong totalEvictedConnectionCount = new AtomicLong();
+  private Disposable connectionReaper = Disposables.disposed();
+
+  // Connection handshakes and keepalives
+  private final int keepAliveInterval;
+  private final AtomicLong totalHandshakeCount = new AtomicLong();
+  private final AtomicLong totalHandshakeMicros = new AtomicLong();
+  private final AtomicLong maxHandshakeMicros = new AtomicLong();
+  private final AtomicLong totalKeepAliveCount = new AtomicLong();
+
   // Server
   private Address address;
   private DisposableServer server;
-  private final Map<Address, Mono<? extends Connection>> connections = new ConcurrentHashMap<>();
-  private final LoopResources loopResources = LoopResources.create("sc-cluster-io", 1, true);
+  private final LoopResources loopResources;
+  private final boolean sharedLoopResources;
 
   // Transport factory
   private final Receiver receiver;
@@ -66,9 +131,71 @@ public final class TransportImpl implements Transport {
    * @param sender transport sender part
    */
   public TransportImpl(MessageCodec messageCodec, Receiver receiver, Sender sender) {
-    this.messageCodec = messageCodec;
+    this(messageCodec, receiver, sender, PooledByteBufAllocator.DEFAULT);
+  }
+
+  /**
+   * Constructor with cofig as parameter.
+   *
+   * @param messageCodec message codec
+   * @param receiver transport receiver part
+   * @param sender transport sender part
+   * @param allocator allocator of buffers for outbound messages
+   */
+  public TransportImpl(
+      MessageCodec messageCodec, Receiver receiver, Sender sender, ByteBufAllocator allocator) {
+    this(TransportConfig.defaultConfig().messageCodec(messageCodec), receiver, sender, allocator);
+  }
+
+  /**
+   * Constructor with cofig as parameter.
+   *
+   * @param config transport config
+   * @param receiver transport receiver part
+   * @param sender transport sender part
+   * @param allocator allocator of buffers for outbound messages
+   */
+  public TransportImpl(
+      TransportConfig config, Receiver receiver, Sender sender, ByteBufAllocator allocator) {
+    this(config, receiver, sender, allocator, null);
+  }
+
+  /**
+   * Constructor with cofig as parameter.
+   *
+   * @param config transport config
+   * @param receiver transport receiver part
+   * @param sender transport sender part
+   * @param allocator allocator of buffers for outbound messages
+   * @param loopResources shared event loops (not disposed on transport stop), or null to create
+   *     own ones with {@link TransportConfig#eventLoopCount()} threads
+   */
+  public TransportImpl(
+      TransportConfig config,
+      Receiver receiver,
+      Sender sender,
+      ByteBufAllocator allocator,
+      LoopResources loopResources) {
+    this.sharedLoopResources = loopResources != null;
+    this.loopResources =
+        sharedLoopResources
+            ? loopResources
+            : LoopResources.create("sc-cluster-io", config.eventLoopCount(), true);
+    this.messageCodec = config.messageCodec();
+    this.requestTimeout = config.requestTimeout();
     this.receiver = receiver;
     this.sender = sender;
+    this.allocator = Objects.requireNonNull(allocator, "allocator");
+    this.outboundQueueHighWaterMark = config.outboundQueueHighWaterMark();
+    this.outboundQueueLowWaterMark =
+        Math.min(config.outboundQueueLowWaterMark(), config.outboundQueueHighWaterMark());
+    this.droppableQualifiers = config.droppableQualifiers();
+    this.priorityQualifiers = config.priorityQualifiers();
+    this.datagramQualifiers = config.datagramQualifiers();
+    this.maxDatagramSize = config.maxDatagramSize();
+    this.keepAliveInterval = config.keepAliveInterval();
+    this.connectionIdleTimeout = config.connectionIdleTimeout();
+    this.maxConnections = config.maxConnections();
   }
 
   private static Address prepareAddress(DisposableServer server) {
@@ -84,6 +211,28 @@ private static Address prepareAddress(DisposableServer server) {
   private void init(DisposableServer server) {
     this.server = server;
     this.address = prepareAddress(server);
+    if (sender instanceof DatagramSender) {
+      ((DatagramSender) sender)
+          .datagramChannel()
+          .subscribe(
+              channel ->
+                  channel.addHandlerLast(
+                      DATAGRAM_WRITABILITY_HANDLER, new DatagramWritabilityHandler()));
+    }
+    if (connectionIdleTimeout > 0) {
+      this.connectionReaper =
+          Flux.interval(Duration.ofMillis(Math.max(connectionIdleTimeout / 2, 1)))
+              .subscribe(
+                  i -> {
+                    evictIdleOutboundQueues();
+                    evictLeastRecentlyUsedOutboundQueues();
+                  },
+                  ex ->
+                      LOGGER.warn(
+                          "[{}][evictIdleOutboundQueues] Exception occurred: {}",
+                          address,
+                          ex.toString()));
+    }
     // Setup cleanup
     stop.then(doStop())
         .doFinally(s -> onStop.onComplete())
@@ -157,7 +306,7 @@ public Mono<Transport> start() {
             context ->
                 context.put(
                     ReceiverContext.class,
-                    new ReceiverContext(loopResources, this::toMessage, sink::next)));
+                    new ReceiverContext(loopResources, this::toMessage, this::onMessage)));
   }
 
   @Override
@@ -183,11 +332,22 @@ private Mono<Void> doStop() {
     return Mono.defer(
         () -> {
           LOGGER.info("[{}][doStop] Stopping", address);
-          // Complete incoming messages observable
+          // Complete incoming messages observable and pending requests
           sink.complete();
+          qualifierSubjects.values().forEach(FluxProcessor::onComplete);
+          completePendingRequests();
+          connectionReaper.dispose();
+          outboundQueues.values().forEach(OutboundQueue::dispose);
+          priorityOutboundQueues.values().forEach(OutboundQueue::dispose);
+          datagramOutboundQueues.values().forEach(OutboundQueue::dispose);
           return Flux.concatDelayError(closeServer(), shutdownLoopResources())
               .then()
-              .doFinally(s -> connections.clear())
+              .doFinally(
+                  s -> {
+                    outboundQueues.clear();
+                    priorityOutboundQueues.clear();
+                    datagramOutboundQueues.clear();
+                  })
               .doOnSuccess(avoid -> LOGGER.info("[{}][doStop] Stopped", address));
         });
   }
@@ -197,17 +357,93 @@ public final Flux<Message> listen() {
     return subject.onBackpressureBuffer();
   }
 
+  @Override
+  public Flux<Message> listen(String qualifier) {
+    Objects.requireNonNull(qualifier, "qualifier must be not null");
+    return Flux.defer(
+        () -> {
+          if (isStopped()) {
+            return Flux.empty();
+          }
+          return qualifierSubjects
+              .computeIfAbsent(qualifier, q -> DirectProcessor.<Message>create().serialize())
+              .onBackpressureBuffer();
+        });
+  }
+
   @Override
   public Mono<Void> send(Address address, Message message) {
-    return Mono.deferWithContext(context -> connections.computeIfAbsent(address, this::connect0))
-        .flatMap(
-            connection ->
-                Mono.deferWithContext(context -> sender.send(message))
-                    .subscriberContext(context -> context.put(Connection.class, connection)))
-        .subscriberContext(
-            context ->
-                context.put(
-                    SenderContext.class, new SenderContext(loopResources, this::toByteBuf)));
+    return Mono.create(
+        sink -> {
+          if (isDatagramTransport() && datagramQualifiers.contains(message.qualifier())) {
+            offerDatagram(address, message, sink);
+          } else {
+            offer(address, message, sink);
+          }
+        });
+  }
+
+  @Override
+  public Mono<Void> connect(Address address) {
+    return Mono.fromRunnable(
+        () -> {
+          if (isStopped()) {
+            return;
+          }
+          withOutboundQueue(outboundQueues, address, OutboundQueue::connect);
+          if (!priorityQualifiers.isEmpty()) {
+            withOutboundQueue(priorityOutboundQueues, address, OutboundQueue::connect);
+          }
+        });
+  }
+
+  private void offer(Address address, Message message, MonoSink<Void> sink) {
+    Map<Address, OutboundQueue> queues =
+        priorityQualifiers.contains(message.qualifier()) ? priorityOutboundQueues : outboundQueues;
+    withOutboundQueue(queues, address, queue -> queue.offer(address, message, sink));
+  }
+
+  private void offerDatagram(Address address, Message message, MonoSink<Void> sink) {
+    while (true) {
+      OutboundQueue queue =
+          datagramOutboundQueues.computeIfAbsent(
+              address,
+              address1 ->
+                  newOutboundQueue(
+                      address1,
+                      a -> ((DatagramSender) sender).datagramChannel(),
+                      this::sendDatagram0,
+                      true));
+      if (queue.offer(address, message, sink)) {
+        break;
+      }
+      // Queue was closed as idle meanwhile, retry with new one
+    }
+  }
+
+  // Applies action to queue to given peer, creating the queue if there is none
+  private void withOutboundQueue(
+      Map<Address, OutboundQueue> queues, Address address, Predicate<OutboundQueue> action) {
+    boolean created = false;
+    while (true) {
+      OutboundQueue queue = queues.get(address);
+      if (queue == null) {
+        OutboundQueue newQueue = newOutboundQueue(address, this::connect0, this::send0, false);
+        queue = queues.putIfAbsent(address, newQueue);
+        if (queue == null) {
+          queue = newQueue;
+          created = true;
+        }
+      }
+      if (action.test(queue)) {
+        break;
+      }
+      // Queue was closed as idle meanwhile, retry with new one
+    }
+    if (created) {
+      // Only new queue (and its connection) may exceed max connections
+      evictLeastRecentlyUsedOutboundQueues();
+    }
   }
 
   @Override
@@ -217,28 +453,105 @@ public Mono<Message> requestResponse(Address address, final Message request) {
           Objects.requireNonNull(request, "request must be not null");
           Objects.requireNonNull(request.correlationId(), "correlationId must be not null");
 
-          Disposable receive =
-              listen()
-                  .filter(resp -> resp.correlationId() != null)
-                  .filter(resp -> resp.correlationId().equals(request.correlationId()))
-                  .take(1)
-                  .subscribe(sink::success, sink::error, sink::success);
+          if (isStopped()) {
+            sink.success();
+            return;
+          }
+
+          final String correlationId = request.correlationId();
+          addPendingRequest(correlationId, sink);
 
           Disposable send =
               send(address, request)
                   .subscribe(
                       null,
                       ex -> {
-                        receive.dispose();
+                        removePendingRequest(correlationId, sink);
                         sink.error(ex);
                       });
 
-          sink.onDispose(Disposables.composite(send, receive));
+          Disposable timeout =
+              requestTimeout > 0
+                  ? Schedulers.parallel()
+                      .schedule(
+                          () -> {
+                            removePendingRequest(correlationId, sink);
+                            sink.error(
+                                new TimeoutException(
+                                    "No response to request with correlationId "
+                                        + correlationId
+                                        + " within "
+                                        + requestTimeout
+                                        + "ms"));
+                          },
+                          requestTimeout,
+                          TimeUnit.MILLISECONDS)
+                  : Disposables.disposed();
+
+          sink.onDispose(
+              Disposables.composite(
+                  send, timeout, () -> removePendingRequest(correlationId, sink)));
         });
   }
 
+  private void onMessage(Message message) {
+    // Route response to pending request(s) if any
+    final String correlationId = message.correlationId();
+    if (correlationId != null && !pendingRequests.isEmpty()) {
+      List<MonoSink<Message>> sinks = pendingRequests.remove(correlationId);
+      if (sinks != null) {
+        sinks.forEach(requestSink -> requestSink.success(message));
+      }
+    }
+    // Dispatch to subscribers of message qualifier if any
+    final String qualifier = message.qualifier();
+    if (qualifier != null) {
+      FluxProcessor<Message, Message> qualifierSubject = qualifierSubjects.get(qualifier);
+      if (qualifierSubject != null) {
+        qualifierSubject.onNext(message);
+      }
+    }
+    sink.next(message);
+  }
+
+  private void addPendingRequest(String correlationId, MonoSink<Message> sink) {
+    pendingRequests.compute(
+        correlationId,
+        (key, sinks) -> {
+          List<MonoSink<Message>> list = sinks != null ? sinks : new ArrayList<>(1);
+          list.add(sink);
+          return list;
+        });
+  }
+
+  private void removePendingRequest(String correlationId, MonoSink<Message> sink) {
+    pendingRequests.computeIfPresent(
+        correlationId,
+        (key, sinks) -> {
+          sinks.remove(sink);
+          return sinks.isEmpty() ? null : sinks;
+        });
+  }
+
+  private void completePendingRequests() {
+    for (String correlationId : pendingRequests.keySet()) {
+      List<MonoSink<Message>> sinks = pendingRequests.remove(correlationId);
+      if (sinks != null) {
+        sinks.forEach(MonoSink::success);
+      }
+    }
+  }
+
   private Message toMessage(ByteBuf byteBuf) {
-    try (ByteBufInputStream stream = new ByteBufInputStream(byteBuf, true)) {
+    if (messageCodec instanceof ByteBufferMessageCodec) {
+      try {
+        return ((ByteBufferMessageCodec) messageCodec).deserializeLazily(byteBuf.nioBuffer());
+      } catch (Exception e) {
+        LOGGER.warn("[{}][decodeMessage] Exception occurred: {}", address, e.toString());
+        throw new DecoderException(e);
+      }
+    }
+    try (ByteBufInputStream stream = new ByteBufInputStream(byteBuf)) {
       return messageCodec.deserialize(stream);
     } catch (Exception e) {
       LOGGER.warn("[{}][decodeMessage] Exception occurred: {}", address, e.toString());
@@ -247,7 +560,11 @@ private Message toMessage(ByteBuf byteBuf) {
   }
 
   private ByteBuf toByteBuf(Message message) {
-    ByteBuf byteBuf = ByteBufAllocator.DEFAULT.buffer();
+    if (messageCodec instanceof ByteBufferMessageCodec) {
+      return toByteBuf((ByteBufferMessageCodec) messageCodec, message);
+    }
+    int initialCapacity = sizeEstimator.sizeHint(message);
+    ByteBuf byteBuf = allocator.buffer(initialCapacity);
     ByteBufOutputStream stream = new ByteBufOutputStream(byteBuf);
     try {
       messageCodec.serialize(message, stream);
@@ -256,25 +573,332 @@ private ByteBuf toByteBuf(Message message) {
       LOGGER.warn("[{}][encodeMessage] Exception occurred: {}", address, e.toString());
       throw new EncoderException(e);
     }
+    onEncoded(message, byteBuf.readableBytes(), byteBuf.capacity() > initialCapacity);
     return byteBuf;
   }
 
+  private ByteBuf toByteBuf(ByteBufferMessageCodec messageCodec, Message message) {
+    int initialCapacity = sizeEstimator.sizeHint(message);
+    ByteBuf byteBuf = allocator.buffer(Math.max(initialCapacity, messageCodec.sizeHint(message)));
+    boolean reallocated = false;
+    try {
+      while (true) {
+        ByteBuffer buffer = byteBuf.nioBuffer(0, byteBuf.capacity());
+        try {
+          messageCodec.serialize(message, buffer);
+          byteBuf.writerIndex(buffer.position());
+          break;
+        } catch (BufferOverflowException e) {
+          byteBuf.capacity(byteBuf.capacity() << 1);
+          reallocated = true;
+        }
+      }
+    } catch (Exception e) {
+      byteBuf.release();
+      LOGGER.warn("[{}][encodeMessage] Exception occurred: {}", address, e.toString());
+      throw new EncoderException(e);
+    }
+    onEncoded(message, byteBuf.readableBytes(), reallocated);
+    return byteBuf;
+  }
+
+  private void onEncoded(Message message, int size, boolean reallocated) {
+    sizeEstimator.record(message, size);
+    totalEncodedMessageCount.incrementAndGet();
+    if (reallocated) {
+      totalEncodeReallocationCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Returns total count of encoded outbound messages.
+   *
+   * @return total encoded message count
+   */
+  public long totalEncodedMessageCount() {
+    return totalEncodedMessageCount.get();
+  }
+
+  /**
+   * Returns total count of outbound messages whose buffer had to be grown during encoding, i.e.
+   * initial capacity (computed from per-qualifier size estimate) turned out to be too small.
+   *
+   * @return total encode reallocation count
+   */
+  public long totalEncodeReallocationCount() {
+    return totalEncodeReallocationCount.get();
+  }
+
+  /**
+   * Returns number of requests waiting for response.
+   *
+   * @return pending request count
+   */
+  public int pendingRequestCount() {
+    return pendingRequests.values().stream().mapToInt(List::size).sum();
+  }
+
+  /**
+   * Returns number of messages queued to given peer, including written but not yet flushed ones.
+   *
+   * @param address peer address
+   * @return outbound queue depth
+   */
+  public int outboundQueueDepth(Address address) {
+    return depth(outboundQueues.get(address))
+        + depth(priorityOutboundQueues.get(address))
+        + depth(datagramOutboundQueues.get(address));
+  }
+
+  private static int depth(OutboundQueue outboundQueue) {
+    return outboundQueue != null ? outboundQueue.depth() : 0;
+  }
+
+  /**
+   * Returns total count of outbound messages with droppable qualifiers dropped due to overflow of
+   * outbound queue.
+   *
+   * @return total outbound dropped count
+   */
+  public long totalOutboundDroppedCount() {
+    return totalOutboundDroppedCount.get();
+  }
+
+  /**
+   * Returns total count of outbound messages rejected with error due to overflow of outbound
+   * queue.
+   *
+   * @return total outbound rejected count
+   */
+  public long totalOutboundRejectedCount() {
+    return totalOutboundRejectedCount.get();
+  }
+
+  /**
+   * Returns true if messages with datagram qualifiers are sent in datagrams, i.e. transport sender
+   * supports datagrams.
+   *
+   * @return true if transport sends datagrams
+   */
+  public boolean isDatagramTransport() {
+    return sender instanceof DatagramSender;
+  }
+
+  /**
+   * Returns total count of outbound messages sent in datagrams.
+   *
+   * @return total datagram count
+   */
+  public long totalDatagramCount() {
+    return totalDatagramCount.get();
+  }
+
+  /**
+   * Returns total count of outbound messages with datagram qualifiers which exceeded max datagram
+   * size and were sent over stream connection instead.
+   *
+   * @return total datagram fallback count
+   */
+  public long totalDatagramFallbackCount() {
+    return totalDatagramFallbackCount.get();
+  }
+
+  /**
+   * Returns number of outbound connections, including ones being established.
+   *
+   * @return outbound connection count
+   */
+  public int outboundConnectionCount() {
+    return outboundQueues.size() + priorityOutboundQueues.size();
+  }
+
+  /**
+   * Returns total count of outbound connections closed due to idle timeout or max connections
+   * limit.
+   *
+   * @return total evicted connection count
+   */
+  public long totalEvictedConnectionCount() {
+    return totalEvictedConnectionCount.get();
+  }
+
+  /**
+   * Returns total count of established outbound connections.
+   *
+   * @return total handshake count
+   */
+  public long totalHandshakeCount() {
+    return totalHandshakeCount.get();
+  }
+
+  /**
+   * Returns total time in microseconds spent on establishing outbound connections. Together with
+   * {@link #totalHandshakeCount()} gives average handshake latency.
+   *
+   * @return total handshake time in microseconds
+   */
+  public long totalHandshakeMicros() {
+    return totalHandshakeMicros.get();
+  }
+
+  /**
+   * Returns max time in microseconds spent on establishing outbound connection.
+   *
+   * @return max handshake time in microseconds
+   */
+  public long maxHandshakeMicros() {
+    return maxHandshakeMicros.get();
+  }
+
+  /**
+   * Returns total count of keepalive frames sent over idle outbound connections.
+   *
+   * @return total keepalive count
+   */
+  public long totalKeepAliveCount() {
+    return totalKeepAliveCount.get();
+  }
+
+  private OutboundQueue newOutboundQueue(
+      Address address1,
+      Function<Address, Mono<? extends Connection>> connector,
+      OutboundQueue.Writer writer,
+      boolean sharedConnection) {
+    return new OutboundQueue(
+        address1,
+        outboundQueueHighWaterMark,
+        outboundQueueLowWaterMark,
+        droppableQualifiers,
+        connector,
+        writer,
+        this::removeIdleOutboundQueue,
+        sharedConnection,
+        totalOutboundDroppedCount,
+        totalOutboundRejectedCount);
+  }
+
+  private void removeIdleOutboundQueue(Address address1, OutboundQueue outboundQueue) {
+    outboundQueues.computeIfPresent(
+        address1, (key, queue) -> queue == outboundQueue && queue.closeIfIdle() ? null : queue);
+    priorityOutboundQueues.computeIfPresent(
+        address1, (key, queue) -> queue == outboundQueue && queue.closeIfIdle() ? null : queue);
+    datagramOutboundQueues.computeIfPresent(
+        address1, (key, queue) -> queue == outboundQueue && queue.closeIfIdle() ? null : queue);
+  }
+
+  private void evictIdleOutboundQueues() {
+    long idleSince = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(connectionIdleTimeout);
+    outboundQueues.forEach((address1, queue) -> evictOutboundQueue(address1, queue, idleSince));
+    priorityOutboundQueues.forEach(
+        (address1, queue) -> evictOutboundQueue(address1, queue, idleSince));
+  }
+
+  private void evictLeastRecentlyUsedOutboundQueues() {
+    int excess = outboundQueues.size() + priorityOutboundQueues.size() - maxConnections;
+    if (excess <= 0) {
+      return;
+    }
+    // Snapshot of last active times, they keep changing while sorting
+    List<LruCandidate> candidates = new ArrayList<>();
+    outboundQueues.forEach((address1, queue) -> candidates.add(new LruCandidate(address1, queue)));
+    priorityOutboundQueues.forEach(
+        (address1, queue) -> candidates.add(new LruCandidate(address1, queue)));
+    candidates.sort(Comparator.comparingLong(candidate -> candidate.lastActiveTime));
+    long idleSince = System.nanoTime();
+    for (LruCandidate candidate : candidates) {
+      if (excess <= 0) {
+        break;
+      }
+      if (evictOutboundQueue(candidate.address, candidate.queue, idleSince)) {
+        excess--;
+      }
+    }
+  }
+
+  private boolean evictOutboundQueue(
+      Address address1, OutboundQueue outboundQueue, long idleSince) {
+    if (!outboundQueue.closeIfIdleSince(idleSince)) {
+      return false;
+    }
+    outboundQueues.remove(address1, outboundQueue);
+    priorityOutboundQueues.remove(address1, outboundQueue);
+    outboundQueue.disconnect();
+    totalEvictedConnectionCount.incrementAndGet();
+    LOGGER.debug("[{}][evictOutboundQueue][{}] Evicted idle connection", address, address1);
+    return true;
+  }
+
   private Mono<? extends Connection> connect0(Address address1) {
+    return Mono.defer(
+        () -> {
+          long startTime = System.nanoTime();
+          return sender
+              .connect(address1)
+              .doOnSuccess(
+                  connection -> {
+                    onHandshake(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+                    if (keepAliveInterval > 0) {
+                      connection.onWriteIdle(keepAliveInterval, () -> keepAlive(connection));
+                    }
+                    LOGGER.debug(
+                        "[{}][connected][{}] Channel: {}", address, address1, connection.channel());
+                  })
+              .doOnError(
+                  th ->
+                      LOGGER.warn(
+                          "[{}][connect0][{}] Exception occurred: {}",
+                          address,
+                          address1,
+                          th.toString()))
+              .subscriberContext(context -> context.put(SenderContext.class, newSenderContext()));
+        });
+  }
+
+  private void onHandshake(long micros) {
+    totalHandshakeCount.incrementAndGet();
+    totalHandshakeMicros.addAndGet(micros);
+    maxHandshakeMicros.accumulateAndGet(micros, Math::max);
+  }
+
+  private void keepAlive(Connection connection) {
+    totalKeepAliveCount.incrementAndGet();
+    sender
+        .sendKeepAlive(connection)
+        .subscribe(
+            null,
+            ex ->
+                LOGGER.debug(
+                    "[{}][keepAlive] Exception occurred: {}", address, ex.toString()));
+  }
+
+  private Mono<Void> send0(Connection connection, Address address1, Message message) {
     return sender
-        .connect(address1)
-        .doOnSuccess(
-            connection -> {
-              connection.onDispose().doOnTerminate(() -> connections.remove(address1)).subscribe();
-              LOGGER.debug(
-                  "[{}][connected][{}] Channel: {}", address, address1, connection.channel());
-            })
-        .doOnError(
-            th -> {
-              LOGGER.warn(
-                  "[{}][connect0][{}] Exception occurred: {}", address, address1, th.toString());
-              connections.remove(address1);
-            })
-        .cache();
+        .send(message)
+        .subscriberContext(
+            context ->
+                context
+                    .put(Connection.class, connection)
+                    .put(SenderContext.class, newSenderContext()));
+  }
+
+  private Mono<Void> sendDatagram0(Connection channel, Address address1, Message message) {
+    ByteBuf content;
+    try {
+      content = toByteBuf(message);
+    } catch (Exception e) {
+      return Mono.error(e);
+    }
+    if (content.readableBytes() > maxDatagramSize) {
+      content.release();
+      totalDatagramFallbackCount.incrementAndGet();
+      return Mono.create(sink -> offer(address1, message, sink));
+    }
+    totalDatagramCount.incrementAndGet();
+    return ((DatagramSender) sender).sendDatagram(channel, address1, content);
+  }
+
+  private SenderContext newSenderContext() {
+    return new SenderContext(loopResources, this::toByteBuf);
   }
 
   private Mono<Void> closeServer() {
@@ -295,6 +919,9 @@ private Mono<Void> closeServer() {
   }
 
   private Mono<Void> shutdownLoopResources() {
+    if (sharedLoopResources) {
+      return Mono.empty();
+    }
     return Mono.fromRunnable(loopResources::dispose).then(loopResources.disposeLater());
   }
 
@@ -317,6 +944,12 @@ public LoopResources loopResources() {
       return loopResources;
     }
 
+    /**
+     * Returns decoder of inbound frames. Decoder doesn't release the frame, it must be called
+     * synchronously from inbound handler, which releases the frame afterwards.
+     *
+     * @return message decoder
+     */
     public Function<ByteBuf, Message> messageDecoder() {
       return messageDecoder;
     }
@@ -344,4 +977,29 @@ public Function<Message, ByteBuf> messageEncoder() {
       return messageEncoder;
     }
   }
+
+  // Datagram channel is shared by queues to all peers, so they are all drained once it's writable
+  private final class DatagramWritabilityHandler extends ChannelInboundHandlerAdapter {
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+      if (ctx.channel().isWritable()) {
+        datagramOutboundQueues.values().forEach(OutboundQueue::drain);
+      }
+      ctx.fireChannelWritabilityChanged();
+    }
+  }
+
+  private static final class LruCandidate {
+
+    private final Address address;
+    private final OutboundQueue queue;
+    private final long lastActiveTime;
+
+    private LruCandidate(Address address, OutboundQueue queue) {
+      this.address = address;
+      this.queue = queue;
+      this.lastActiveTime = queue.lastActiveTime();
+    }
+  }
 }
@@ -0,0 +1,75 @@
+package io.scalecube.transport.netty.tcp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.scalecube.transport.netty.FrameCompressor;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compresses frames written to outbound connection and decompresses frames read from inbound one.
+ * Sending side announces compression with preamble frame written ahead of the first frame, so
+ * receiving side decompresses frames only on connections which started with preamble and passes
+ * frames of other connections as is. Preamble isn't acknowledged, so receiver of former version
+ * reads it, and compressed frames after it, as malformed messages.
+ *
+ * <p>Not sharable, all state is confined to channel event loop.
+ */
+final class CompressionHandler extends ChannelDuplexHandler {
+
+  private static final ByteBuf PREAMBLE =
+      Unpooled.unreleasableBuffer(
+          Unpooled.wrappedBuffer("\0sc-snappy".getBytes(StandardCharsets.US_ASCII)).asReadOnly());
+
+  private final FrameCompressor compressor;
+  private final boolean compress;
+
+  private boolean preambleWritten;
+  private boolean preambleRead;
+  private boolean decompress;
+
+  /**
+   * Constructor.
+   *
+   * @param compressor frame compressor
+   * @param compress whether to compress written frames
+   */
+  CompressionHandler(FrameCompressor compressor, boolean compress) {
+    this.compressor = compressor;
+    this.compress = compress;
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+    if (!compress || !(msg instanceof ByteBuf)) {
+      ctx.write(msg, promise);
+      return;
+    }
+    if (!preambleWritten) {
+      preambleWritten = true;
+      ctx.write(PREAMBLE.duplicate(), ctx.voidPromise());
+    }
+    ctx.write(compressor.encode(ctx.alloc(), (ByteBuf) msg), promise);
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) {
+    if (!(msg instanceof ByteBuf) || !((ByteBuf) msg).isReadable()) {
+      ctx.fireChannelRead(msg);
+      return;
+    }
+    ByteBuf frame = (ByteBuf) msg;
+    if (!preambleRead) {
+      preambleRead = true;
+      if (ByteBufUtil.equals(frame, PREAMBLE)) {
+        decompress = true;
+        frame.release();
+        return;
+      }
+    }
+    ctx.fireChannelRead(decompress ? compressor.decode(ctx.alloc(), frame) : frame);
+  }
+}
@@ -7,6 +7,8 @@
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.LengthFieldPrepender;
+import io.scalecube.cluster.transport.api.TransportConfig;
+import io.scalecube.transport.netty.FrameCompressor;
 import java.util.function.BiConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,18 +19,44 @@ final class TcpChannelInitializer implements BiConsumer<ConnectionObserver, Chan
   private static final int LENGTH_FIELD_LENGTH = 4;
 
   private final int maxFrameLength;
+  private final TransportConfig outboundConfig;
 
   TcpChannelInitializer(int maxFrameLength) {
+    this(maxFrameLength, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param maxFrameLength max frame length
+   * @param outboundConfig config with write coalescing and compression settings of outbound
+   *     connection, or null if writes must be neither coalesced nor compressed
+   */
+  TcpChannelInitializer(int maxFrameLength, TransportConfig outboundConfig) {
     this.maxFrameLength = maxFrameLength;
+    this.outboundConfig = outboundConfig;
   }
 
   @Override
   public void accept(ConnectionObserver connectionObserver, Channel channel) {
     ChannelPipeline pipeline = channel.pipeline();
+    if (outboundConfig != null && outboundConfig.isWriteCoalescing()) {
+      pipeline.addLast(
+          new WriteCoalescingHandler(
+              outboundConfig.writeCoalescingDelay(), outboundConfig.writeCoalescingMaxBytes()));
+    }
     pipeline.addLast(new LengthFieldPrepender(LENGTH_FIELD_LENGTH));
     pipeline.addLast(
         new LengthFieldBasedFrameDecoder(
             maxFrameLength, 0, LENGTH_FIELD_LENGTH, 0, LENGTH_FIELD_LENGTH));
+    if (outboundConfig == null) {
+      // Inbound connection decompresses frames if sender announced compression
+      pipeline.addLast(new CompressionHandler(new FrameCompressor(0, maxFrameLength), false));
+    } else if (outboundConfig.compressionThreshold() > 0) {
+      pipeline.addLast(
+          new CompressionHandler(
+              new FrameCompressor(outboundConfig.compressionThreshold(), maxFrameLength), true));
+    }
     pipeline.addLast(new ExceptionHandler());
   }
 
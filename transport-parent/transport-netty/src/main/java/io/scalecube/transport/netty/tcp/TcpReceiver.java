@@ -1,5 +1,6 @@
 package io.scalecube.transport.netty.tcp;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelOption;
 import io.scalecube.cluster.transport.api.TransportConfig;
 import io.scalecube.transport.netty.Receiver;
@@ -10,11 +11,11 @@
 import reactor.netty.channel.BootstrapHandlers;
 import reactor.netty.tcp.TcpServer;
 
-final class TcpReceiver implements Receiver {
+public final class TcpReceiver implements Receiver {
 
   private final TransportConfig config;
 
-  TcpReceiver(TransportConfig config) {
+  public TcpReceiver(TransportConfig config) {
     this.config = config;
   }
 
@@ -27,7 +28,8 @@ public Mono<DisposableServer> bind() {
                     .handle(
                         (in, out) ->
                             in.receive()
-                                .retain()
+                                // Empty frames are keepalives
+                                .filter(ByteBuf::isReadable)
                                 .map(context.messageDecoder())
                                 .doOnNext(context::onMessage)
                                 .then())
@@ -37,7 +39,7 @@ public Mono<DisposableServer> bind() {
 
   private TcpServer newTcpServer(ReceiverContext context) {
     return TcpServer.create()
-        .runOn(context.loopResources())
+        .runOn(context.loopResources(), config.isPreferNative())
         .bindAddress(() -> new InetSocketAddress(config.port()))
         .option(ChannelOption.TCP_NODELAY, true)
         .option(ChannelOption.SO_KEEPALIVE, true)
@@ -1,5 +1,6 @@
 package io.scalecube.transport.netty.tcp;
 
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelOption;
 import io.scalecube.cluster.transport.api.Message;
 import io.scalecube.cluster.transport.api.TransportConfig;
@@ -12,11 +13,11 @@
 import reactor.netty.resources.ConnectionProvider;
 import reactor.netty.tcp.TcpClient;
 
-final class TcpSender implements Sender {
+public final class TcpSender implements Sender {
 
   private final TransportConfig config;
 
-  TcpSender(TransportConfig config) {
+  public TcpSender(TransportConfig config) {
     this.config = config;
   }
 
@@ -40,10 +41,16 @@ public Mono<Void> send(Message message) {
         });
   }
 
+  @Override
+  public Mono<Void> sendKeepAlive(Connection connection) {
+    // Empty frame, skipped by receiver
+    return connection.outbound().sendObject(Unpooled.EMPTY_BUFFER).then();
+  }
+
   private TcpClient newTcpClient(SenderContext context, Address address) {
     TcpClient tcpClient =
         TcpClient.create(ConnectionProvider.newConnection())
-            .runOn(context.loopResources())
+            .runOn(context.loopResources(), config.isPreferNative())
             .host(address.host())
             .port(address.port())
             .option(ChannelOption.TCP_NODELAY, true)
@@ -53,7 +60,7 @@ private TcpClient newTcpClient(SenderContext context, Address address) {
             .bootstrap(
                 b ->
                     BootstrapHandlers.updateConfiguration(
-                        b, "outbound", new TcpChannelInitializer(config.maxFrameLength())));
+                        b, "outbound", new TcpChannelInitializer(config.maxFrameLength(), config)));
     return config.isSecured() ? tcpClient.secure() : tcpClient;
   }
 }
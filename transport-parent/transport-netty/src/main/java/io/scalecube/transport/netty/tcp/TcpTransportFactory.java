@@ -1,14 +1,52 @@
 package io.scalecube.transport.netty.tcp;
 
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.scalecube.cluster.transport.api.Transport;
 import io.scalecube.cluster.transport.api.TransportConfig;
 import io.scalecube.cluster.transport.api.TransportFactory;
 import io.scalecube.transport.netty.TransportImpl;
+import java.util.Objects;
+import reactor.netty.resources.LoopResources;
 
 public final class TcpTransportFactory implements TransportFactory {
 
+  private final ByteBufAllocator allocator;
+  private final LoopResources loopResources;
+
+  public TcpTransportFactory() {
+    this(PooledByteBufAllocator.DEFAULT);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param allocator allocator of buffers for outbound messages
+   */
+  public TcpTransportFactory(ByteBufAllocator allocator) {
+    this.allocator = Objects.requireNonNull(allocator, "allocator");
+    this.loopResources = null;
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param allocator allocator of buffers for outbound messages
+   * @param loopResources event loops shared by all transports created by this factory, they are
+   *     not disposed on transport stop
+   */
+  public TcpTransportFactory(ByteBufAllocator allocator, LoopResources loopResources) {
+    this.allocator = Objects.requireNonNull(allocator, "allocator");
+    this.loopResources = Objects.requireNonNull(loopResources, "loopResources");
+  }
+
   @Override
   public Transport createTransport(TransportConfig config) {
-    return new TransportImpl(config.messageCodec(), new TcpReceiver(config), new TcpSender(config));
+    if (config.isDatagramTransport()) {
+      throw new IllegalArgumentException(
+          "TCP transport doesn't support datagrams, use UdpTransportFactory instead");
+    }
+    return new TransportImpl(
+        config, new TcpReceiver(config), new TcpSender(config), allocator, loopResources);
   }
 }
@@ -0,0 +1,96 @@
+package io.scalecube.transport.netty.tcp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces flushes of outbound writes. Instead of flushing on every flush request writes are
+ * flushed once pending bytes exceed {@code maxBytes}, or by a task scheduled on event loop after
+ * {@code delay} milliseconds (with zero delay the task runs as soon as event loop has executed
+ * already queued tasks, i.e. writes submitted meanwhile go out with one syscall).
+ *
+ * <p>Not sharable, all state is confined to channel event loop.
+ */
+final class WriteCoalescingHandler extends ChannelDuplexHandler {
+
+  private final int delay;
+  private final int maxBytes;
+
+  private ChannelHandlerContext ctx;
+  private final Runnable flushTask = this::onFlushTask;
+  private boolean flushScheduled;
+  private boolean pendingWrites;
+  private long pendingBytes;
+
+  WriteCoalescingHandler(int delay, int maxBytes) {
+    this.delay = delay;
+    this.maxBytes = maxBytes;
+  }
+
+  @Override
+  public void handlerAdded(ChannelHandlerContext ctx) {
+    this.ctx = ctx;
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+    pendingWrites = true;
+    if (msg instanceof ByteBuf) {
+      pendingBytes += ((ByteBuf) msg).readableBytes();
+    }
+    ctx.write(msg, promise);
+  }
+
+  @Override
+  public void flush(ChannelHandlerContext ctx) {
+    if (pendingBytes >= maxBytes) {
+      flushPending();
+      return;
+    }
+    if (!flushScheduled) {
+      flushScheduled = true;
+      if (delay > 0) {
+        ctx.executor().schedule(flushTask, delay, TimeUnit.MILLISECONDS);
+      } else {
+        ctx.executor().execute(flushTask);
+      }
+    }
+  }
+
+  @Override
+  public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+    if (!ctx.channel().isWritable()) {
+      // Outbound buffer is full, push pending writes out
+      flushPending();
+    }
+    ctx.fireChannelWritabilityChanged();
+  }
+
+  @Override
+  public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+    flushPending();
+    ctx.close(promise);
+  }
+
+  @Override
+  public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+    flushPending();
+    ctx.disconnect(promise);
+  }
+
+  private void onFlushTask() {
+    flushScheduled = false;
+    flushPending();
+  }
+
+  private void flushPending() {
+    if (pendingWrites) {
+      pendingWrites = false;
+      pendingBytes = 0;
+      ctx.flush();
+    }
+  }
+}
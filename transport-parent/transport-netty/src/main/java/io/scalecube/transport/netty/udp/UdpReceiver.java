@@ -0,0 +1,79 @@
+package io.scalecube.transport.netty.udp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.socket.DatagramPacket;
+import io.scalecube.cluster.transport.api.TransportConfig;
+import io.scalecube.transport.netty.Receiver;
+import io.scalecube.transport.netty.TransportImpl.ReceiverContext;
+import java.net.InetSocketAddress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.netty.Connection;
+import reactor.netty.DisposableServer;
+import reactor.netty.udp.UdpServer;
+
+/**
+ * Binds stream server of given receiver and datagram channel on the same port. Datagram channel is
+ * disposed together with stream server.
+ */
+final class UdpReceiver implements Receiver {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UdpReceiver.class);
+
+  private final TransportConfig config;
+  private final Receiver streamReceiver;
+  private final MonoProcessor<Connection> datagramChannel;
+
+  UdpReceiver(
+      TransportConfig config,
+      Receiver streamReceiver,
+      MonoProcessor<Connection> datagramChannel) {
+    this.config = config;
+    this.streamReceiver = streamReceiver;
+    this.datagramChannel = datagramChannel;
+  }
+
+  @Override
+  public Mono<DisposableServer> bind() {
+    return Mono.deferWithContext(context -> Mono.just(context.get(ReceiverContext.class)))
+        .flatMap(
+            context ->
+                streamReceiver
+                    .bind()
+                    .flatMap(
+                        server ->
+                            newUdpServer(context, server.port())
+                                .bind()
+                                .doOnError(ex -> server.dispose())
+                                .map(
+                                    channel -> {
+                                      server.onDispose(channel);
+                                      datagramChannel.onNext(channel);
+                                      return server;
+                                    })))
+        .doOnError(datagramChannel::onError);
+  }
+
+  private UdpServer newUdpServer(ReceiverContext context, int port) {
+    return UdpServer.create()
+        .runOn(context.loopResources(), config.isPreferNative())
+        .bindAddress(() -> new InetSocketAddress(port))
+        .handle(
+            (in, out) ->
+                in.receiveObject()
+                    .ofType(DatagramPacket.class)
+                    .doOnNext(packet -> onDatagram(context, packet.content()))
+                    .then());
+  }
+
+  private static void onDatagram(ReceiverContext context, ByteBuf content) {
+    try {
+      context.onMessage(context.messageDecoder().apply(content));
+    } catch (Exception ex) {
+      // Malformed datagram is dropped, datagram channel keeps serving others
+      LOGGER.warn("[onDatagram] Exception occurred: {}", ex.toString());
+    }
+  }
+}
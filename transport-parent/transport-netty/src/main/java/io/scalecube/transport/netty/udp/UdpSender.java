@@ -0,0 +1,59 @@
+package io.scalecube.transport.netty.udp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.socket.DatagramPacket;
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.net.Address;
+import io.scalecube.transport.netty.DatagramSender;
+import io.scalecube.transport.netty.Sender;
+import java.net.InetSocketAddress;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.netty.Connection;
+
+/**
+ * Sends messages over connections of given stream sender, and datagrams over datagram channel bound
+ * by {@link UdpReceiver}.
+ */
+final class UdpSender implements DatagramSender {
+
+  private final Sender streamSender;
+  private final MonoProcessor<Connection> datagramChannel;
+
+  UdpSender(Sender streamSender, MonoProcessor<Connection> datagramChannel) {
+    this.streamSender = streamSender;
+    this.datagramChannel = datagramChannel;
+  }
+
+  @Override
+  public Mono<Connection> connect(Address address) {
+    return streamSender.connect(address);
+  }
+
+  @Override
+  public Mono<Void> send(Message message) {
+    return streamSender.send(message);
+  }
+
+  @Override
+  public Mono<Void> sendKeepAlive(Connection connection) {
+    return streamSender.sendKeepAlive(connection);
+  }
+
+  @Override
+  public Mono<Connection> datagramChannel() {
+    return datagramChannel;
+  }
+
+  @Override
+  public Mono<Void> sendDatagram(Connection channel, Address address, ByteBuf content) {
+    return Mono.defer(
+        () -> {
+          InetSocketAddress recipient = new InetSocketAddress(address.host(), address.port());
+          return channel
+              .outbound()
+              .sendObject(Mono.just(new DatagramPacket(content, recipient)), packet -> true)
+              .then();
+        });
+  }
+}
@@ -0,0 +1,66 @@
+package io.scalecube.transport.netty.udp;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.scalecube.cluster.transport.api.Transport;
+import io.scalecube.cluster.transport.api.TransportConfig;
+import io.scalecube.cluster.transport.api.TransportFactory;
+import io.scalecube.transport.netty.TransportImpl;
+import io.scalecube.transport.netty.tcp.TcpReceiver;
+import io.scalecube.transport.netty.tcp.TcpSender;
+import java.util.Objects;
+import reactor.core.publisher.MonoProcessor;
+import reactor.netty.Connection;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Transport factory which sends messages with {@link TransportConfig#datagramQualifiers()} in UDP
+ * datagrams (falling back to TCP for ones exceeding {@link TransportConfig#maxDatagramSize()}), and
+ * all other messages over TCP. Datagrams are sent and received on single UDP channel bound on the
+ * same port as TCP server, so no per-peer connection state is kept for them.
+ *
+ * <p>Cluster selects this factory if {@link TransportConfig#isDatagramTransport()} is set and no
+ * transport factory is given explicitly.
+ */
+public final class UdpTransportFactory implements TransportFactory {
+
+  private final ByteBufAllocator allocator;
+  private final LoopResources loopResources;
+
+  public UdpTransportFactory() {
+    this(PooledByteBufAllocator.DEFAULT);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param allocator allocator of buffers for outbound messages
+   */
+  public UdpTransportFactory(ByteBufAllocator allocator) {
+    this.allocator = Objects.requireNonNull(allocator, "allocator");
+    this.loopResources = null;
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param allocator allocator of buffers for outbound messages
+   * @param loopResources event loops shared by all transports created by this factory, they are
+   *     not disposed on transport stop
+   */
+  public UdpTransportFactory(ByteBufAllocator allocator, LoopResources loopResources) {
+    this.allocator = Objects.requireNonNull(allocator, "allocator");
+    this.loopResources = Objects.requireNonNull(loopResources, "loopResources");
+  }
+
+  @Override
+  public Transport createTransport(TransportConfig config) {
+    MonoProcessor<Connection> datagramChannel = MonoProcessor.create();
+    return new TransportImpl(
+        config,
+        new UdpReceiver(config, new TcpReceiver(config), datagramChannel),
+        new UdpSender(new TcpSender(config), datagramChannel),
+        allocator,
+        loopResources);
+  }
+}
@@ -1,8 +1,10 @@
 package io.scalecube.transport.netty.websocket;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelOption;
-import io.netty.util.ReferenceCountUtil;
 import io.scalecube.cluster.transport.api.TransportConfig;
+import io.scalecube.transport.netty.FrameCompressor;
 import io.scalecube.transport.netty.Receiver;
 import io.scalecube.transport.netty.TransportImpl.ReceiverContext;
 import java.net.InetSocketAddress;
@@ -11,15 +13,22 @@
 import reactor.netty.http.server.HttpServer;
 import reactor.netty.http.server.HttpServerRequest;
 import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.http.server.WebsocketServerSpec;
 import reactor.netty.http.websocket.WebsocketInbound;
 import reactor.netty.http.websocket.WebsocketOutbound;
 
 final class WebsocketReceiver implements Receiver {
 
+  // Header of upgrade request by which sender announces compression, it isn't answered
+  static final String COMPRESSION_HEADER = "X-Scalecube-Compression";
+  static final String COMPRESSION = "snappy";
+
   private final TransportConfig config;
+  private final FrameCompressor compressor;
 
   WebsocketReceiver(TransportConfig config) {
     this.config = config;
+    this.compressor = new FrameCompressor(0, config.maxFrameLength());
   }
 
   @Override
@@ -38,7 +47,7 @@ private HttpServer newHttpServer(ReceiverContext context) {
         .tcpConfiguration(
             tcpServer ->
                 tcpServer
-                    .runOn(context.loopResources())
+                    .runOn(context.loopResources(), config.isPreferNative())
                     .bindAddress(() -> new InetSocketAddress(config.port()))
                     .option(ChannelOption.TCP_NODELAY, true)
                     .option(ChannelOption.SO_KEEPALIVE, true)
@@ -47,21 +56,31 @@ private HttpServer newHttpServer(ReceiverContext context) {
 
   private Mono<Void> onMessage(
       ReceiverContext context,
-      @SuppressWarnings("unused") HttpServerRequest request,
+      HttpServerRequest request,
       HttpServerResponse response) {
+    boolean compressed = COMPRESSION.equals(request.requestHeaders().get(COMPRESSION_HEADER));
     return response.sendWebsocket(
         (WebsocketInbound inbound, WebsocketOutbound outbound) ->
             inbound
                 .receive()
-                .retain()
-                .doOnNext(
-                    byteBuf -> {
-                      if (!byteBuf.isReadable()) {
-                        ReferenceCountUtil.safeRelease(byteBuf);
-                        return;
-                      }
-                      context.onMessage(context.messageDecoder().apply(byteBuf));
-                    })
-                .then());
+                .filter(ByteBuf::isReadable)
+                .doOnNext(byteBuf -> onMessage(context, outbound.alloc(), compressed, byteBuf))
+                .then(),
+        WebsocketServerSpec.builder().maxFramePayloadLength(config.maxFrameLength()).build());
+  }
+
+  private void onMessage(
+      ReceiverContext context, ByteBufAllocator allocator, boolean compressed, ByteBuf byteBuf) {
+    if (!compressed) {
+      context.onMessage(context.messageDecoder().apply(byteBuf));
+      return;
+    }
+    // Received frame is released by reactor-netty, decoded one is released here
+    ByteBuf frame = compressor.decode(allocator, byteBuf.retain());
+    try {
+      context.onMessage(context.messageDecoder().apply(frame));
+    } finally {
+      frame.release();
+    }
   }
 }
@@ -1,10 +1,13 @@
 package io.scalecube.transport.netty.websocket;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.PingWebSocketFrame;
 import io.scalecube.cluster.transport.api.Message;
 import io.scalecube.cluster.transport.api.TransportConfig;
 import io.scalecube.net.Address;
+import io.scalecube.transport.netty.FrameCompressor;
 import io.scalecube.transport.netty.Sender;
 import io.scalecube.transport.netty.TransportImpl.SenderContext;
 import reactor.core.publisher.Mono;
@@ -16,9 +19,14 @@
 final class WebsocketSender implements Sender {
 
   private final TransportConfig config;
+  private final FrameCompressor compressor;
 
   WebsocketSender(TransportConfig config) {
     this.config = config;
+    this.compressor =
+        config.compressionThreshold() > 0
+            ? new FrameCompressor(config.compressionThreshold(), config.maxFrameLength())
+            : null;
   }
 
   @Override
@@ -39,19 +47,29 @@ public Mono<Void> send(Message message) {
               .sendObject(
                   Mono.just(message)
                       .map(senderContext.messageEncoder())
+                      .map(byteBuf -> compress(connection, byteBuf))
                       .map(BinaryWebSocketFrame::new),
                   bb -> true)
               .then();
         });
   }
 
+  private ByteBuf compress(Connection connection, ByteBuf byteBuf) {
+    return compressor != null ? compressor.encode(connection.channel().alloc(), byteBuf) : byteBuf;
+  }
+
+  @Override
+  public Mono<Void> sendKeepAlive(Connection connection) {
+    return connection.outbound().sendObject(new PingWebSocketFrame()).then();
+  }
+
   private HttpClient.WebsocketSender newWebsocketSender(SenderContext context, Address address) {
     return HttpClient.newConnection()
         .tcpConfiguration(
             tcpClient -> {
               TcpClient tcpClient1 =
                   tcpClient
-                      .runOn(context.loopResources())
+                      .runOn(context.loopResources(), config.isPreferNative())
                       .host(address.host())
                       .port(address.port())
                       .option(ChannelOption.TCP_NODELAY, true)
@@ -60,6 +78,12 @@ private HttpClient.WebsocketSender newWebsocketSender(SenderContext context, Add
                       .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, config.connectTimeout());
               return config.isSecured() ? tcpClient1.secure() : tcpClient1;
             })
+        .headers(
+            headers -> {
+              if (compressor != null) {
+                headers.set(WebsocketReceiver.COMPRESSION_HEADER, WebsocketReceiver.COMPRESSION);
+              }
+            })
         .websocket(
             WebsocketClientSpec.builder().maxFramePayloadLength(config.maxFrameLength()).build());
   }
@@ -1,15 +1,55 @@
 package io.scalecube.transport.netty.websocket;
 
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.scalecube.cluster.transport.api.Transport;
 import io.scalecube.cluster.transport.api.TransportConfig;
 import io.scalecube.cluster.transport.api.TransportFactory;
 import io.scalecube.transport.netty.TransportImpl;
+import java.util.Objects;
+import reactor.netty.resources.LoopResources;
 
 public final class WebsocketTransportFactory implements TransportFactory {
 
+  private final ByteBufAllocator allocator;
+  private final LoopResources loopResources;
+
+  public WebsocketTransportFactory() {
+    this(PooledByteBufAllocator.DEFAULT);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param allocator allocator of buffers for outbound messages
+   */
+  public WebsocketTransportFactory(ByteBufAllocator allocator) {
+    this.allocator = Objects.requireNonNull(allocator, "allocator");
+    this.loopResources = null;
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param allocator allocator of buffers for outbound messages
+   * @param loopResources event loops shared by all transports created by this factory, they are
+   *     not disposed on transport stop
+   */
+  public WebsocketTransportFactory(ByteBufAllocator allocator, LoopResources loopResources) {
+    this.allocator = Objects.requireNonNull(allocator, "allocator");
+    this.loopResources = Objects.requireNonNull(loopResources, "loopResources");
+  }
+
   @Override
   public Transport createTransport(TransportConfig config) {
+    if (config.isDatagramTransport()) {
+      throw new IllegalArgumentException("Websocket transport doesn't support datagrams");
+    }
     return new TransportImpl(
-        config.messageCodec(), new WebsocketReceiver(config), new WebsocketSender(config));
+        config,
+        new WebsocketReceiver(config),
+        new WebsocketSender(config),
+        allocator,
+        loopResources);
   }
 }
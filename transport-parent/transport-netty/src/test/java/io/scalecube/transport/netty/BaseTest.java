@@ -68,22 +68,40 @@ protected void destroyTransport(Transport transport) {
   /**
    * Factory method to create a transport.
    *
-   * @return tramsprot
+   * @return transport
    */
   protected NetworkEmulatorTransport createTcpTransport() {
+    return createTcpTransport(TransportConfig.defaultConfig());
+  }
+
+  /**
+   * Factory method to create a transport with given config.
+   *
+   * @param config transport config
+   * @return transport
+   */
+  protected NetworkEmulatorTransport createTcpTransport(TransportConfig config) {
     return new NetworkEmulatorTransport(
-        TransportImpl.bindAwait(
-            TransportConfig.defaultConfig().transportFactory(new TcpTransportFactory())));
+        TransportImpl.bindAwait(config.transportFactory(new TcpTransportFactory())));
   }
 
   /**
    * Factory method to create a transport.
    *
-   * @return tramsprot
+   * @return transport
    */
   protected NetworkEmulatorTransport createWebsocketTransport() {
+    return createWebsocketTransport(TransportConfig.defaultConfig());
+  }
+
+  /**
+   * Factory method to create a transport with given config.
+   *
+   * @param config transport config
+   * @return transport
+   */
+  protected NetworkEmulatorTransport createWebsocketTransport(TransportConfig config) {
     return new NetworkEmulatorTransport(
-        TransportImpl.bindAwait(
-            TransportConfig.defaultConfig().transportFactory(new WebsocketTransportFactory())));
+        TransportImpl.bindAwait(config.transportFactory(new WebsocketTransportFactory())));
   }
 }
@@ -1,28 +1,41 @@
 package io.scalecube.transport.netty.tcp;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import io.netty.buffer.ByteBufAllocator;
 import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.cluster.transport.api.TransportConfig;
 import io.scalecube.cluster.utils.NetworkEmulatorTransport;
 import io.scalecube.net.Address;
 import io.scalecube.transport.netty.BaseTest;
+import io.scalecube.transport.netty.TransportImpl;
 import java.io.IOException;
 import java.net.UnknownHostException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.core.publisher.ReplayProcessor;
+import reactor.netty.resources.LoopResources;
 import reactor.test.StepVerifier;
 
 public class TcpTransportTest extends BaseTest {
@@ -203,6 +216,415 @@ public void testShouldRequestResponseSuccess() {
     assertEquals("hello: server", result);
   }
 
+  @Test
+  public void testRequestResponseWithSameCorrelationId() {
+    client = createTcpTransport();
+    server = createTcpTransport();
+
+    server
+        .listen()
+        .filter(req -> req.qualifier().equals("hello/server"))
+        .take(1)
+        .subscribe(
+            message ->
+                send(
+                        server,
+                        message.sender(),
+                        Message.builder()
+                            .correlationId(message.correlationId())
+                            .data("hello: " + message.data())
+                            .build())
+                    .subscribe());
+
+    Message request =
+        Message.builder().qualifier("hello/server").correlationId("123xyz").data("server").build();
+
+    List<String> results =
+        Flux.merge(
+                client.requestResponse(server.address(), request),
+                client.requestResponse(server.address(), request))
+            .map(msg -> msg.data().toString())
+            .collectList()
+            .block(Duration.ofSeconds(1));
+
+    assertEquals(2, results.size());
+    results.forEach(result -> assertEquals("hello: server", result));
+  }
+
+  @Test
+  public void testRequestTimeoutEvictsPendingRequest() {
+    server = createTcpTransport();
+    TransportImpl transport =
+        (TransportImpl)
+            TransportImpl.bindAwait(
+                TransportConfig.defaultConfig()
+                    .requestTimeout(200)
+                    .transportFactory(new TcpTransportFactory()));
+
+    try {
+      // server never responds, request isn't subscribed with timeout
+      Message request =
+          Message.builder().qualifier("hello/server").correlationId("123xyz").build();
+      StepVerifier.create(transport.requestResponse(server.address(), request))
+          .expectError(TimeoutException.class)
+          .verify(TIMEOUT);
+
+      assertEquals(0, transport.pendingRequestCount());
+    } finally {
+      destroyTransport(transport);
+    }
+  }
+
+  @Test
+  public void testListenByQualifier() throws Exception {
+    client = createTcpTransport();
+    server = createTcpTransport();
+
+    CompletableFuture<List<String>> helloMessages =
+        server.listen("hello").take(2).map(msg -> msg.data().toString()).collectList().toFuture();
+    CompletableFuture<List<String>> allMessages =
+        server.listen().take(3).map(Message::qualifier).collectList().toFuture();
+
+    Flux.just("hello", "bye", "hello")
+        .map(qualifier -> Message.withData(qualifier).qualifier(qualifier).build())
+        .concatMap(message -> send(client, server.address(), message))
+        .blockLast(TIMEOUT);
+
+    assertEquals(Arrays.asList("hello", "hello"), helloMessages.get(3, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList("hello", "bye", "hello"), allMessages.get(3, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testEncodeBufferIsSizedByQualifierEstimate() {
+    server = createTcpTransport();
+    TransportImpl transport =
+        (TransportImpl)
+            TransportImpl.bindAwait(
+                TransportConfig.defaultConfig().transportFactory(new TcpTransportFactory()));
+
+    try {
+      char[] chars = new char[16 * 1024];
+      Arrays.fill(chars, 'x');
+      Message message = Message.withData(new String(chars)).qualifier("big").build();
+
+      Flux.range(0, 3)
+          .concatMap(i -> send(transport, server.address(), message))
+          .blockLast(TIMEOUT);
+
+      assertEquals(3, transport.totalEncodedMessageCount());
+      // only first message didn't have an estimate
+      assertEquals(1, transport.totalEncodeReallocationCount());
+    } finally {
+      destroyTransport(transport);
+    }
+  }
+
+  @Test
+  public void testOutboundQueueOverflow() {
+    server = createTcpTransport();
+    client = createTcpTransport();
+    TransportImpl transport =
+        (TransportImpl)
+            TransportImpl.bindAwait(
+                TransportConfig.defaultConfig()
+                    .transportFactory(new TcpTransportFactory())
+                    .outboundQueueHighWaterMark(8)
+                    .outboundQueueLowWaterMark(4)
+                    .droppableQualifiers(Collections.singleton("droppable")));
+
+    try {
+      int count = 1000;
+
+      // Bursts are queued while connection is being established, up to twice high water mark
+      Message message =
+          Message.withData("hello").qualifier("hello").sender(transport.address()).build();
+      NetworkEmulatorTransport stopped = createTcpTransport();
+      destroyTransport(stopped);
+      List<Throwable> connectErrors =
+          Flux.range(0, count)
+              .flatMap(
+                  i ->
+                      transport
+                          .send(stopped.address(), message)
+                          .then(Mono.<Throwable>empty())
+                          .onErrorResume(Mono::just),
+                  count)
+              .collectList()
+              .block(TIMEOUT);
+      assertEquals(count, connectErrors.size());
+      long rejectedBeforeConnect = connectErrors.stream().filter(Exceptions::isOverflow).count();
+      assertTrue(rejectedBeforeConnect > 0);
+      assertTrue(count - rejectedBeforeConnect >= 16, "rejected: " + rejectedBeforeConnect);
+      assertEquals(rejectedBeforeConnect, transport.totalOutboundRejectedCount());
+
+      // Once connected, bursts overflow the queue
+      transport.send(server.address(), message).block(TIMEOUT);
+      List<Throwable> errors =
+          Flux.range(0, count)
+              .flatMap(
+                  i ->
+                      transport
+                          .send(server.address(), message)
+                          .then(Mono.<Throwable>empty())
+                          .onErrorResume(Mono::just))
+              .collectList()
+              .block(TIMEOUT);
+
+      assertFalse(errors.isEmpty());
+      assertTrue(errors.stream().allMatch(Exceptions::isOverflow), "errors: " + errors);
+      assertEquals(
+          rejectedBeforeConnect + errors.size(), transport.totalOutboundRejectedCount());
+      assertEquals(0, transport.totalOutboundDroppedCount());
+
+      Message droppable =
+          Message.withData("ping").qualifier("droppable").sender(transport.address()).build();
+      ReplayProcessor<Message> received = ReplayProcessor.create();
+      client.listen().subscribe(received);
+      Flux.range(0, count)
+          .flatMap(i -> send(transport, client.address(), droppable))
+          .blockLast(TIMEOUT);
+
+      long dropped = transport.totalOutboundDroppedCount();
+      assertTrue(dropped > 0);
+      assertEquals(
+          rejectedBeforeConnect + errors.size(), transport.totalOutboundRejectedCount());
+      assertEquals(0, transport.outboundQueueDepth(client.address()));
+      received.take(count - dropped).then().block(TIMEOUT);
+    } finally {
+      destroyTransport(transport);
+    }
+  }
+
+  @Test
+  public void testPriorityQualifiersBypassOverflownQueue() throws Exception {
+    server = createTcpTransport();
+    TransportImpl transport =
+        (TransportImpl)
+            TransportImpl.bindAwait(
+                TransportConfig.defaultConfig()
+                    .transportFactory(new TcpTransportFactory())
+                    .outboundQueueHighWaterMark(8)
+                    .outboundQueueLowWaterMark(4)
+                    .priorityQualifiers(Collections.singleton("priority")));
+
+    try {
+      Message bulk =
+          Message.withData("bulk").qualifier("bulk").sender(transport.address()).build();
+      Message priority =
+          Message.withData("ping").qualifier("priority").sender(transport.address()).build();
+
+      CompletableFuture<List<Message>> received =
+          server.listen(priority.qualifier()).take(11).collectList().toFuture();
+      // Establish connections, otherwise messages pile up till they're connected
+      transport.send(server.address(), priority).block(TIMEOUT);
+      transport.send(server.address(), bulk).block(TIMEOUT);
+
+      List<Message> failed =
+          Flux.range(0, 1000)
+              .flatMap(i -> i % 100 == 0 ? Flux.just(bulk, priority) : Flux.just(bulk))
+              .flatMap(
+                  message ->
+                      transport
+                          .send(server.address(), message)
+                          .then(Mono.<Message>empty())
+                          .onErrorResume(ex -> Mono.just(message)))
+              .collectList()
+              .block(TIMEOUT);
+
+      assertFalse(failed.isEmpty());
+      assertTrue(failed.stream().allMatch(message -> message == bulk));
+      assertEquals(11, received.get(3, TimeUnit.SECONDS).size());
+    } finally {
+      destroyTransport(transport);
+    }
+  }
+
+  @Test
+  public void testSharedLoopResources() {
+    LoopResources loopResources = LoopResources.create("sc-cluster-io-shared", 2, true);
+    TransportConfig config =
+        TransportConfig.defaultConfig()
+            .transportFactory(new TcpTransportFactory(ByteBufAllocator.DEFAULT, loopResources));
+
+    try {
+      client = new NetworkEmulatorTransport(TransportImpl.bindAwait(config));
+      server = new NetworkEmulatorTransport(TransportImpl.bindAwait(config));
+
+      // Stop of one transport doesn't dispose event loops shared with another one
+      destroyTransport(TransportImpl.bindAwait(config));
+
+      StepVerifier.create(server.listen().take(1).map(Message::data))
+          .then(() -> send(client, server.address(), Message.fromData("hello")).subscribe())
+          .expectNext("hello")
+          .expectComplete()
+          .verify(TIMEOUT);
+    } finally {
+      destroyTransport(client);
+      destroyTransport(server);
+      loopResources.dispose();
+    }
+  }
+
+  @Test
+  public void testConnectAheadOfSend() {
+    TransportImpl client = (TransportImpl) TransportImpl.bindAwait();
+    TransportImpl server = (TransportImpl) TransportImpl.bindAwait();
+
+    try {
+      client.connect(server.address()).block(TIMEOUT);
+      Mono.delay(Duration.ofMillis(100))
+          .repeat(() -> client.totalHandshakeCount() == 0)
+          .blockLast(TIMEOUT);
+      assertEquals(1, client.totalHandshakeCount());
+
+      StepVerifier.create(server.listen().take(1).map(Message::data))
+          .then(() -> client.send(server.address(), Message.fromData("hello")).subscribe())
+          .expectNext("hello")
+          .expectComplete()
+          .verify(TIMEOUT);
+
+      // Message went over pre-dialed connection
+      assertEquals(1, client.totalHandshakeCount());
+    } finally {
+      destroyTransport(client);
+      destroyTransport(server);
+    }
+  }
+
+  @Test
+  public void testIdleConnectionIsEvicted() {
+    TransportConfig config =
+        TransportConfig.defaultConfig().connectionIdleTimeout(200).keepAliveInterval(50);
+    TransportImpl client = (TransportImpl) TransportImpl.bindAwait(config);
+    TransportImpl server = (TransportImpl) TransportImpl.bindAwait();
+
+    try {
+      StepVerifier.create(server.listen().take(1).map(Message::data))
+          .then(() -> client.send(server.address(), Message.fromData("hello")).subscribe())
+          .expectNext("hello")
+          .expectComplete()
+          .verify(TIMEOUT);
+      assertEquals(1, client.outboundConnectionCount());
+
+      // Keepalives don't prevent eviction
+      Mono.delay(Duration.ofMillis(100))
+          .repeat(() -> client.outboundConnectionCount() > 0)
+          .blockLast(TIMEOUT);
+      assertEquals(1, client.totalEvictedConnectionCount());
+
+      StepVerifier.create(server.listen().take(1).map(Message::data))
+          .then(() -> client.send(server.address(), Message.fromData("world")).subscribe())
+          .expectNext("world")
+          .expectComplete()
+          .verify(TIMEOUT);
+      assertEquals(2, client.totalHandshakeCount());
+    } finally {
+      destroyTransport(client);
+      destroyTransport(server);
+    }
+  }
+
+  @Test
+  public void testLeastRecentlyUsedConnectionIsEvicted() {
+    TransportImpl client =
+        (TransportImpl) TransportImpl.bindAwait(TransportConfig.defaultConfig().maxConnections(1));
+    TransportImpl server1 = (TransportImpl) TransportImpl.bindAwait();
+    TransportImpl server2 = (TransportImpl) TransportImpl.bindAwait();
+
+    try {
+      for (TransportImpl server : Arrays.asList(server1, server2, server1)) {
+        client.send(server.address(), Message.fromData("hello")).block(TIMEOUT);
+        assertEquals(1, client.outboundConnectionCount());
+      }
+      assertEquals(2, client.totalEvictedConnectionCount());
+      assertEquals(3, client.totalHandshakeCount());
+    } finally {
+      destroyTransport(client);
+      destroyTransport(server1);
+      destroyTransport(server2);
+    }
+  }
+
+  @Test
+  public void testKeepAliveOnIdleConnection() throws Exception {
+    TransportConfig config = TransportConfig.defaultConfig().keepAliveInterval(100);
+    TransportImpl client = (TransportImpl) TransportImpl.bindAwait(config);
+    TransportImpl server = (TransportImpl) TransportImpl.bindAwait(config);
+
+    try {
+      StepVerifier.create(server.listen().take(1).map(Message::data))
+          .then(() -> client.send(server.address(), Message.fromData("hello")).subscribe())
+          .expectNext("hello")
+          .expectComplete()
+          .verify(TIMEOUT);
+
+      TimeUnit.MILLISECONDS.sleep(500);
+      assertTrue(client.totalKeepAliveCount() > 0, "keepalives are sent over idle connection");
+
+      // Keepalives are skipped by receiver, connection keeps serving messages
+      StepVerifier.create(server.listen().take(1).map(Message::data))
+          .then(() -> client.send(server.address(), Message.fromData("world")).subscribe())
+          .expectNext("world")
+          .expectComplete()
+          .verify(TIMEOUT);
+      assertEquals(1, client.totalHandshakeCount());
+    } finally {
+      destroyTransport(client);
+      destroyTransport(server);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 5})
+  public void testWriteCoalescing(int writeCoalescingDelay) throws Exception {
+    client =
+        createTcpTransport(
+            TransportConfig.defaultConfig()
+                .writeCoalescing(true)
+                .writeCoalescingDelay(writeCoalescingDelay)
+                .writeCoalescingMaxBytes(1024));
+    server = createTcpTransport();
+
+    int count = 1000;
+    CompletableFuture<List<String>> received =
+        server.listen().take(count).map(msg -> msg.data().toString()).collectList().toFuture();
+
+    Flux.range(0, count)
+        .flatMap(i -> send(client, server.address(), Message.fromData("message: " + i)))
+        .blockLast(TIMEOUT);
+
+    assertEquals(count, new HashSet<>(received.get(3, TimeUnit.SECONDS)).size());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 1024})
+  public void testCompression(int compressionThreshold) throws Exception {
+    client =
+        createTcpTransport(
+            TransportConfig.defaultConfig().compressionThreshold(compressionThreshold));
+    server = createTcpTransport();
+
+    Random random = new Random(42);
+    char[] noise = new char[100 * 1024];
+    for (int i = 0; i < noise.length; i++) {
+      noise[i] = (char) ('a' + random.nextInt(26));
+    }
+    List<String> sent =
+        Arrays.asList(
+            "small",
+            String.join("", Collections.nCopies(10000, "compressible ")),
+            new String(noise));
+
+    CompletableFuture<List<String>> received =
+        server.listen().take(sent.size()).map(msg -> msg.<String>data()).collectList().toFuture();
+
+    Flux.fromIterable(sent)
+        .concatMap(data -> send(client, server.address(), Message.fromData(data)))
+        .blockLast(TIMEOUT);
+
+    assertEquals(sent, received.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+  }
+
   @Test
   public void testPingPongOnSeparateChannel() throws Exception {
     server = createTcpTransport();
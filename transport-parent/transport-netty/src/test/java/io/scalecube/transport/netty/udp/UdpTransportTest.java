@@ -0,0 +1,156 @@
+package io.scalecube.transport.netty.udp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.cluster.transport.api.TransportConfig;
+import io.scalecube.transport.netty.BaseTest;
+import io.scalecube.transport.netty.TransportImpl;
+import io.scalecube.transport.netty.tcp.TcpTransportFactory;
+import io.scalecube.transport.netty.websocket.WebsocketTransportFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class UdpTransportTest extends BaseTest {
+
+  public static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  private static final String PING = "ping";
+  private static final String PONG = "pong";
+
+  private static final TransportConfig CONFIG =
+      TransportConfig.defaultConfig()
+          .transportFactory(new UdpTransportFactory())
+          .datagramQualifiers(new HashSet<>(Arrays.asList(PING, PONG)));
+
+  // Auto-destroyed on tear down
+  private TransportImpl client;
+  private TransportImpl server;
+
+  /** Tear down. */
+  @AfterEach
+  public final void tearDown() {
+    destroyTransport(client);
+    destroyTransport(server);
+  }
+
+  @Test
+  public void testRequestResponseOverDatagrams() {
+    client = (TransportImpl) TransportImpl.bindAwait(CONFIG);
+    server = (TransportImpl) TransportImpl.bindAwait(CONFIG);
+
+    server
+        .listen(PING)
+        .flatMap(
+            request ->
+                server.send(
+                    request.sender(),
+                    Message.withData("pong")
+                        .qualifier(PONG)
+                        .correlationId(request.correlationId())
+                        .build()))
+        .subscribe();
+
+    Message ping =
+        Message.withData("ping")
+            .qualifier(PING)
+            .correlationId("cid-1")
+            .sender(client.address())
+            .build();
+
+    StepVerifier.create(client.requestResponse(server.address(), ping).map(Message::data))
+        .expectNext("pong")
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    assertEquals(1, client.totalDatagramCount());
+    assertEquals(1, server.totalDatagramCount());
+  }
+
+  @Test
+  public void testDatagramQueuesArePerPeer() {
+    client = (TransportImpl) TransportImpl.bindAwait(CONFIG);
+    server = (TransportImpl) TransportImpl.bindAwait(CONFIG);
+    TransportImpl other = (TransportImpl) TransportImpl.bindAwait(CONFIG);
+
+    try {
+      Flux<Void> sends =
+          Flux.range(0, 10)
+              .map(i -> Message.withData(i).qualifier(PING).build())
+              .flatMap(
+                  message ->
+                      Mono.when(
+                          client.send(server.address(), message),
+                          client.send(other.address(), message)));
+      // Listeners are subscribed before messages are sent
+      StepVerifier.create(
+              Mono.when(server.listen(PING).take(10), other.listen(PING).take(10), sends))
+          .expectComplete()
+          .verify(TIMEOUT);
+
+      // Queues are evicted once everything queued to peer is written
+      assertEquals(0, client.outboundQueueDepth(server.address()));
+      assertEquals(0, client.outboundQueueDepth(other.address()));
+      assertEquals(20, client.totalDatagramCount());
+    } finally {
+      destroyTransport(other);
+    }
+  }
+
+  @Test
+  public void testStreamOnlyTransportsRejectDatagramTransport() {
+    TransportConfig config = TransportConfig.defaultConfig().datagramTransport(true);
+
+    assertThrows(
+        IllegalArgumentException.class, () -> new TcpTransportFactory().createTransport(config));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new WebsocketTransportFactory().createTransport(config));
+  }
+
+  @Test
+  public void testLargeMessageFallsBackToStream() {
+    client = (TransportImpl) TransportImpl.bindAwait(CONFIG.maxDatagramSize(64));
+    server = (TransportImpl) TransportImpl.bindAwait(CONFIG);
+
+    char[] chars = new char[1024];
+    Arrays.fill(chars, 'x');
+    Message message = Message.withData(new String(chars)).qualifier(PING).build();
+
+    StepVerifier.create(server.listen(PING).take(1).map(Message::data))
+        .then(() -> client.send(server.address(), message).subscribe())
+        .expectNext(message.<String>data())
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    assertEquals(0, client.totalDatagramCount());
+    assertEquals(1, client.totalDatagramFallbackCount());
+  }
+
+  @Test
+  public void testOtherMessagesAreSentOverStream() {
+    client = (TransportImpl) TransportImpl.bindAwait(CONFIG);
+    server = (TransportImpl) TransportImpl.bindAwait(CONFIG);
+
+    StepVerifier.create(server.listen("app").take(1).map(Message::data))
+        .then(
+            () ->
+                client
+                    .send(server.address(), Message.withData("hello").qualifier("app").build())
+                    .subscribe())
+        .expectNext("hello")
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    assertEquals(0, client.totalDatagramCount());
+    assertTrue(client.totalEncodedMessageCount() > 0);
+  }
+}
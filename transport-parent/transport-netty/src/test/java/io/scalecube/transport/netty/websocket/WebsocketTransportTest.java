@@ -7,20 +7,27 @@
 import static org.junit.jupiter.api.Assertions.fail;
 
 import io.scalecube.cluster.transport.api.Message;
+import io.scalecube.cluster.transport.api.TransportConfig;
 import io.scalecube.cluster.utils.NetworkEmulatorTransport;
 import io.scalecube.net.Address;
 import io.scalecube.transport.netty.BaseTest;
+import io.scalecube.transport.netty.TransportImpl;
 import java.io.IOException;
 import java.net.UnknownHostException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.ReplayProcessor;
 import reactor.test.StepVerifier;
@@ -339,4 +346,64 @@ public void testBlockAndUnblockTraffic() throws Exception {
         .thenCancel()
         .verify(TIMEOUT);
   }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 1024})
+  public void testCompression(int compressionThreshold) throws Exception {
+    client =
+        createWebsocketTransport(
+            TransportConfig.defaultConfig().compressionThreshold(compressionThreshold));
+    server = createWebsocketTransport();
+
+    Random random = new Random(42);
+    char[] noise = new char[100 * 1024];
+    for (int i = 0; i < noise.length; i++) {
+      noise[i] = (char) ('a' + random.nextInt(26));
+    }
+    List<String> sent =
+        Arrays.asList(
+            "small",
+            String.join("", Collections.nCopies(10000, "compressible ")),
+            new String(noise));
+
+    CompletableFuture<List<String>> received =
+        server.listen().take(sent.size()).map(msg -> msg.<String>data()).collectList().toFuture();
+
+    Flux.fromIterable(sent)
+        .concatMap(data -> send(client, server.address(), Message.fromData(data)))
+        .blockLast(TIMEOUT);
+
+    assertEquals(sent, received.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testKeepAliveOnIdleConnection() throws Exception {
+    TransportConfig config =
+        TransportConfig.defaultConfig()
+            .transportFactory(new WebsocketTransportFactory())
+            .keepAliveInterval(100);
+    TransportImpl client = (TransportImpl) TransportImpl.bindAwait(config);
+    TransportImpl server = (TransportImpl) TransportImpl.bindAwait(config);
+
+    try {
+      StepVerifier.create(server.listen().take(1).map(Message::data))
+          .then(() -> client.send(server.address(), Message.fromData("hello")).subscribe())
+          .expectNext("hello")
+          .expectComplete()
+          .verify(TIMEOUT);
+
+      TimeUnit.MILLISECONDS.sleep(500);
+      assertTrue(client.totalKeepAliveCount() > 0, "pings are sent over idle connection");
+
+      StepVerifier.create(server.listen().take(1).map(Message::data))
+          .then(() -> client.send(server.address(), Message.fromData("world")).subscribe())
+          .expectNext("world")
+          .expectComplete()
+          .verify(TIMEOUT);
+      assertEquals(1, client.totalHandshakeCount());
+    } finally {
+      destroyTransport(client);
+      destroyTransport(server);
+    }
+  }
 }